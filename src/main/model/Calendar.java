@@ -1,82 +1,253 @@
 package model;
 
-import org.json.JSONArray;
 import org.json.JSONObject;
 import persistence.Writable;
 
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
 
 // Represents a calendar with a name and a list of food products,
 // preserved in the order added, duplicates allowed
+// Foods are also indexed by expiry date so that range queries only visit matching foods,
+// and by name so that lookups do not scan the list
+// Registered observers are notified after every add, remove and clear
+// Batch operations reserve space, update the indexes and log one event for the whole batch
+// Queries count expiry from a status date, which moves on to ExpiryClock's date when it changes;
+// foods themselves hold no expiry status, so moving it on visits none of them
+// Foods are kept in an array that is shared with the last snapshot taken; it is only copied when
+// a food the snapshot can see is about to be shifted or overwritten, so appends never copy
+// Removing a food is O(1) amortized: each food's entry knows its slot in the array, removal leaves a hole
+// there, and holes are closed up in one pass once they outnumber the foods or foods are next read by position
 public class Calendar implements Writable {
-    private final List<Food> foodList;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Food[] foods;          // foods in the order added, in the first end elements; null where removed
+    private Entry[] entries;       // entry for each element of foods, null where foods is
+    private int size;              // number of foods
+    private int end;               // number of elements of foods in use, removed or not
+    private int firstHole;         // no element of foods before this one is a hole
+    private boolean shared;        // true if foods is also referenced by snapshot
+    private long version;          // incremented on every change to the foods or their expiry statuses
+    private CalendarSnapshot snapshot; // last snapshot taken, or null if none
+    private final List<Food> foodList;  // read-only view of foods
+    private final NavigableMap<LocalDate, Set<Entry>> expiryIndex; // foods by expiry date, each in order added
+    private final Map<String, Set<Entry>> nameIndex;               // foods by name, each in order added
+    private final List<CalendarObserver> observers;
+    private LocalDate statusDate; // date the expiry statuses of the foods were last updated for
 
     // EFFECTS: creates a calendar object with an empty list of food products
     public Calendar() {
-        foodList = new ArrayList<>();
+        foods = new Food[INITIAL_CAPACITY];
+        entries = new Entry[INITIAL_CAPACITY];
+        foodList = new FoodListView();
+        expiryIndex = new TreeMap<>();
+        nameIndex = new HashMap<>();
+        observers = new ArrayList<>();
+        statusDate = ExpiryClock.getInstance().today();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: registers observer to be notified of changes to this calendar
+    public void addObserver(CalendarObserver observer) {
+        observers.add(observer);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops notifying observer of changes to this calendar
+    public void removeObserver(CalendarObserver observer) {
+        observers.remove(observer);
     }
 
     // MODIFIES: this
     // EFFECTS: adds a food product to the list
     public void addFood(Food food) {
-        foodList.add(food);
-        EventLog.getInstance().logEvent(new Event("Added food to calendar"));
+        refreshExpiryStatus();
+        index(append(food));
+        version++;
+        EventLog.getInstance().logEvent(new Event(Event.Kind.FOOD_ADDED, food.getName(), 1));
+        for (CalendarObserver o : observers) {
+            o.foodAdded(food);
+        }
     }
 
     // MODIFIES: this
     // EFFECTS: removes first instance of a food product from the list with the given name
     //          returns true if successfully removed, false if not
     public boolean removeFood(String foodName) {
-        for (Food f: foodList) {
-            if (f.getName().equals(foodName)) {
-                foodList.remove(f);
-                EventLog.getInstance().logEvent(new Event("Removed food from calendar"));
-                return true;
+        Set<Entry> named = nameIndex.get(foodName);
+        return named != null && remove(named.iterator().next());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes food itself (the same object) if it is in the list; otherwise removes the first instance
+    //          of a food product with the same name, expiry date and date purchased as food (such foods cannot
+    //          be told apart once saved, e.g. when replaying a journal)
+    //          returns true if successfully removed, false if not
+    public boolean removeFood(Food food) {
+        Set<Entry> named = nameIndex.get(food.getName());
+        if (named == null) {
+            return false;
+        }
+        Entry match = null;
+        for (Entry e : named) {
+            if (e.food == food) {
+                return remove(e);
+            }
+            if (match == null && e.food.getExpiryDate().equals(food.getExpiryDate())
+                    && e.food.getDatePurchased().equals(food.getDatePurchased())) {
+                match = e;
+            }
+        }
+        return match != null && remove(match);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the foods to the end of the list in iteration order, reserving space for them once
+    //          and logging one event for the whole batch; does nothing if foods is empty
+    public void addAll(Collection<? extends Food> newFoods) {
+        if (newFoods.isEmpty()) {
+            return;
+        }
+        refreshExpiryStatus();
+        List<Food> added = Collections.unmodifiableList(new ArrayList<>(newFoods));
+        reserve(end + added.size());
+        for (Food f : added) {
+            index(append(f));
+        }
+        version++;
+        EventLog.getInstance().logEvent(new Event(Event.Kind.FOOD_ADDED, null, added.size()));
+        for (CalendarObserver o : observers) {
+            o.foodsAdded(added);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes every food whose name is one of names, logging one event for the whole batch
+    //          returns the number of foods removed
+    public int removeAll(Collection<String> names) {
+        Set<String> doomed = new HashSet<>(names);
+        return removeIf(f -> doomed.contains(f.getName()));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes every food for which filter returns true, keeping the rest in order,
+    //          and logs one event for the whole batch; expiry statuses are up to date when
+    //          filter is called; returns the number of foods removed
+    public int removeIf(Predicate<? super Food> filter) {
+        refreshExpiryStatus();
+        List<Food> removed = new ArrayList<>();
+        for (int i = 0; i < end; i++) {
+            Entry e = entries[i];
+            if (e != null && filter.test(e.food)) {
+                removed.add(e.food);
+                unlink(e);
             }
         }
-        return false;
+        if (removed.isEmpty()) {
+            return 0;
+        }
+        compactIfSparse();
+        version++;
+        EventLog.getInstance().logEvent(new Event(Event.Kind.FOOD_REMOVED, null, removed.size()));
+        for (CalendarObserver o : observers) {
+            o.foodsRemoved(Collections.unmodifiableList(removed));
+        }
+        return removed.size();
     }
 
     // MODIFIES: this
     // EFFECTS: empties list of food
     public void clearList() {
-        foodList.clear();
+        int count = size;
+        if (shared) {
+            foods = new Food[INITIAL_CAPACITY];
+            shared = false;
+        } else {
+            Arrays.fill(foods, 0, end, null);
+        }
+        Arrays.fill(entries, 0, end, null);
+        size = 0;
+        end = 0;
+        firstHole = 0;
+        version++;
+        expiryIndex.clear();
+        nameIndex.clear();
+        EventLog.getInstance().logEvent(new Event(Event.Kind.LIST_CLEARED, null, count));
+        for (CalendarObserver o : observers) {
+            o.listCleared();
+        }
     }
 
     // EFFECTS: returns a list of all the food products that expires in x days or less
-    //          and is not already expired
+    //          and is not already expired, sorted by expiry date (ties in the order added)
     //          returns empty list if none found
     public List<Food> getFoodListExpiresInDays(int days) {
+        refreshExpiryStatus();
         List<Food> expiredFoods = new ArrayList<>();
-        for (Food f: foodList) {
-            if (f.daysUntilExpired() <= days && !f.isExpired()) {
-                expiredFoods.add(f);
+        if (days > 0) {
+            LocalDate last = statusDate.plusDays(days);
+            for (Set<Entry> expiring : expiryIndex.subMap(statusDate, false, last, true).values()) {
+                for (Entry e : expiring) {
+                    expiredFoods.add(e.food);
+                }
             }
         }
-        EventLog.getInstance().logEvent(new Event("Displayed filtered list of foods"));
+        EventLog.getInstance().logEvent(new Event(Event.Kind.LIST_FILTERED, null, expiredFoods.size()));
         return expiredFoods;
     }
 
+    // REQUIRES: !last.isBefore(first)
+    // EFFECTS: returns the number of foods expiring on each day from first to last inclusive, indexed by days
+    //          after first; only visits the dates in that range that have foods, however many foods there are
+    public int[] countExpiringPerDay(LocalDate first, LocalDate last) {
+        int[] counts = new int[(int) ChronoUnit.DAYS.between(first, last) + 1];
+        for (Map.Entry<LocalDate, Set<Entry>> e : expiryIndex.subMap(first, true, last, true).entrySet()) {
+            counts[(int) ChronoUnit.DAYS.between(first, e.getKey())] = e.getValue().size();
+        }
+        return counts;
+    }
+
     // EFFECTS: searches for the name of a food product in the list
     //          returns true if food is found and is expired, false otherwise
     //          returns first one in the list if foods share names
     public boolean searchCheckStatus(String foodName) {
-        for (Food f: foodList) {
-            if (f.getName().equals(foodName)) {
-                return f.isExpired();
-            }
-        }
-        return false;
+        refreshExpiryStatus();
+        Food f = findFood(foodName);
+        return f != null && f.isExpiredOn(statusDate);
+    }
+
+    // EFFECTS: returns the first food in the list with the given name,
+    //          or null if there is none
+    public Food findFood(String foodName) {
+        Set<Entry> named = nameIndex.get(foodName);
+        return named == null ? null : named.iterator().next().food;
     }
 
     // EFFECTS: returns items in the list to view sorted by whether they are expired or not
     public String returnSortedList() {
+        refreshExpiryStatus();
         List<Food> expiredFoods = new ArrayList<>();
         List<Food> freshFoods = new ArrayList<>();
 
-        for (Food f: foodList) {
-            if (f.isExpired()) {
+        for (int i = 0; i < end; i++) {
+            Food f = foods[i];
+            if (f == null) {
+                continue;
+            } else if (f.isExpiredOn(statusDate)) {
                 expiredFoods.add(f);
             } else {
                 freshFoods.add(f);
@@ -86,8 +257,182 @@ public class Calendar implements Writable {
                 + "\nNon-expired foods:\n" + returnInListFormat(freshFoods);
     }
 
+    // MODIFIES: this
+    // EFFECTS: returns a read-only view of the foods in the order added, with up-to-date expiry statuses
     public List<Food> getFoodList() {
-        return foodList;
+        refreshExpiryStatus();
+        return Collections.unmodifiableList(foodList);
+    }
+
+    // EFFECTS: returns the number of foods in the list
+    public int size() {
+        return size;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the food at index in the order added;
+    //          throws IndexOutOfBoundsException if index is not less than size() or is negative
+    public Food getFood(int index) {
+        return foodAt(index);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the current version, as snapshot().getVersion() would, without taking a snapshot
+    //          (which would make the next remove copy the array)
+    public long getVersion() {
+        refreshExpiryStatus();
+        return version;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns an immutable snapshot of the foods in the order added, with up-to-date expiry statuses;
+    //          returns the same snapshot as last time if nothing has changed since
+    public CalendarSnapshot snapshot() {
+        refreshExpiryStatus();
+        if (snapshot == null || snapshot.getVersion() != version) {
+            compact();
+            snapshot = new CalendarSnapshot(version, foods, size, statusDate);
+            shared = true;
+        }
+        return snapshot;
+    }
+
+    // EFFECTS: returns true if the food at index can be read without first closing up holes
+    boolean isCompactBefore(int index) {
+        return index < firstHole || size == end;
+    }
+
+    // EFFECTS: returns the date expiry statuses were last brought up to date for
+    LocalDate getStatusDate() {
+        return statusDate;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: if the date has changed since expiry statuses were last updated, moves the status date on
+    //          to it, so queries and later snapshots count expiry from the new date
+    public void refreshExpiryStatus() {
+        LocalDate today = ExpiryClock.getInstance().today();
+        if (today.equals(statusDate)) {
+            return;
+        }
+        statusDate = today;
+        version++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the food of entry, which is in this calendar, and notifies observers; returns true
+    private boolean remove(Entry entry) {
+        unlink(entry);
+        compactIfSparse();
+        version++;
+        EventLog.getInstance().logEvent(new Event(Event.Kind.FOOD_REMOVED, entry.food.getName(), 1));
+        for (CalendarObserver o : observers) {
+            o.foodRemoved(entry.food);
+        }
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: takes entry out of the indexes and leaves a hole at its slot, first copying the array if a
+    //          snapshot shares it
+    private void unlink(Entry entry) {
+        unindex(nameIndex, entry.food.getName(), entry);
+        unindex(expiryIndex, entry.food.getExpiryDate(), entry);
+        if (shared) {
+            foods = Arrays.copyOf(foods, foods.length);
+            shared = false;
+        }
+        foods[entry.slot] = null;
+        entries[entry.slot] = null;
+        firstHole = Math.min(firstHole, entry.slot);
+        size--;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: closes up the holes once they outnumber the foods, so each removal pays for O(1) of the pass
+    private void compactIfSparse() {
+        if (end - size > size) {
+            compact();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds food to the end of the list, growing the array if it is full, and returns its entry;
+    //          a shared array need not be copied, since no snapshot can see past its own size
+    private Entry append(Food food) {
+        reserve(end + 1);
+        Entry entry = new Entry(food, end);
+        foods[end] = food;
+        entries[end++] = entry;
+        size++;
+        return entry;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes room for capacity elements, first closing up any holes and then, if that is not enough,
+    //          growing the array to at least double its length
+    private void reserve(int capacity) {
+        if (capacity > foods.length) {
+            capacity -= end - size;
+            compact();
+        }
+        if (capacity > foods.length) {
+            int length = Math.max(capacity, foods.length * 2);
+            foods = Arrays.copyOf(foods, length);
+            entries = Arrays.copyOf(entries, length);
+            shared = false;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: closes up the holes left by removed foods, keeping the rest in order; does nothing if there are
+    //          none, which is always the case while a snapshot shares the array, since taking one compacts it
+    private void compact() {
+        if (size == end) {
+            return;
+        }
+        int k = firstHole;
+        for (int i = firstHole; i < end; i++) {
+            if (entries[i] != null) {
+                entries[i].slot = k;
+                entries[k] = entries[i];
+                foods[k++] = foods[i];
+            }
+        }
+        Arrays.fill(foods, k, end, null);
+        Arrays.fill(entries, k, end, null);
+        end = k;
+        firstHole = k;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the food at index in the order added, first closing up the holes if there are any
+    //          before it; throws IndexOutOfBoundsException if index is not less than size
+    private Food foodAt(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (index >= firstHole) {
+            compact();
+        }
+        return foods[index];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds entry to the end of the foods with its expiry date and the foods with its name
+    private void index(Entry entry) {
+        expiryIndex.computeIfAbsent(entry.food.getExpiryDate(), d -> new LinkedHashSet<>()).add(entry);
+        nameIndex.computeIfAbsent(entry.food.getName(), n -> new LinkedHashSet<>()).add(entry);
+    }
+
+    // MODIFIES: index
+    // EFFECTS: removes entry from the bucket for key in index, dropping the bucket once it is empty
+    private static <K> void unindex(Map<K, Set<Entry>> index, K key, Entry entry) {
+        Set<Entry> bucket = index.get(key);
+        bucket.remove(entry);
+        if (bucket.isEmpty()) {
+            index.remove(key);
+        }
     }
 
     // EFFECTS: takes a list of food products and returns them line by line
@@ -104,20 +449,31 @@ public class Calendar implements Writable {
 
     @Override
     public JSONObject toJson() {
-        JSONObject json = new JSONObject();
-        json.put("foods", foodsToJson());
-        return json;
+        return snapshot().toJson();
     }
 
-    // EFFECTS: returns things in this calendar as a JSON array
-    private JSONArray foodsToJson() {
-        JSONArray jsonArray = new JSONArray();
-
-        for (Food f : foodList) {
-            jsonArray.put(f.toJson());
+    // Represents a read-only view of the foods currently in this calendar
+    private class FoodListView extends AbstractList<Food> {
+        @Override
+        public Food get(int index) {
+            return foodAt(index);
         }
 
-        return jsonArray;
+        @Override
+        public int size() {
+            return size;
+        }
     }
 
+    // Represents one occurrence of a food in this calendar; the same food added twice has two entries
+    private static final class Entry {
+        private final Food food;
+        private int slot; // index of food in the array
+
+        // EFFECTS: creates entry for food at slot
+        Entry(Food food, int slot) {
+            this.food = food;
+            this.slot = slot;
+        }
+    }
 }
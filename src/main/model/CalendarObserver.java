@@ -0,0 +1,31 @@
+package model;
+
+import java.util.List;
+
+// Represents an observer that is notified after each change to the foods in a calendar
+public interface CalendarObserver {
+    // EFFECTS: called after food has been added to the calendar
+    void foodAdded(Food food);
+
+    // EFFECTS: called after food has been removed from the calendar
+    void foodRemoved(Food food);
+
+    // EFFECTS: called after a batch of foods has been added to the calendar, in the order added;
+    //          by default, the same as foodAdded for each of them
+    default void foodsAdded(List<Food> foods) {
+        for (Food f : foods) {
+            foodAdded(f);
+        }
+    }
+
+    // EFFECTS: called after a batch of foods has been removed from the calendar, in the order they were listed;
+    //          by default, the same as foodRemoved for each of them
+    default void foodsRemoved(List<Food> foods) {
+        for (Food f : foods) {
+            foodRemoved(f);
+        }
+    }
+
+    // EFFECTS: called after all foods have been removed from the calendar
+    void listCleared();
+}
@@ -0,0 +1,64 @@
+package model;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import persistence.Writable;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Represents the foods in a calendar as they were at one version of it, in the order added
+// A snapshot never changes, so it can be iterated, rendered or saved on any thread without a lock:
+// foods are only read for their name and dates, and expiry statuses are worked out from the snapshot's
+// status date rather than the clock, so a snapshot taken before midnight still saves that day's statuses
+// Taking one is O(1): it shares the calendar's array, which the calendar copies before it next
+// shifts or overwrites an element the snapshot can see
+public final class CalendarSnapshot implements Writable {
+    private final long version;
+    private final Food[] foods;  // shared with the calendar; only the first size elements belong to this snapshot
+    private final int size;
+    private final LocalDate statusDate;
+
+    // REQUIRES: the first size elements of foods are never modified after this call
+    // EFFECTS: creates a snapshot of the first size foods, taken at version with expiry statuses as of statusDate
+    CalendarSnapshot(long version, Food[] foods, int size, LocalDate statusDate) {
+        this.version = version;
+        this.foods = foods;
+        this.size = size;
+        this.statusDate = statusDate;
+    }
+
+    // EFFECTS: returns the version of the calendar this snapshot was taken at;
+    //          a later snapshot of the same calendar has a greater version if and only if it changed in between
+    public long getVersion() {
+        return version;
+    }
+
+    // EFFECTS: returns the date the expiry statuses were up to date for when this snapshot was taken
+    public LocalDate getStatusDate() {
+        return statusDate;
+    }
+
+    // EFFECTS: returns the number of foods in this snapshot
+    public int size() {
+        return size;
+    }
+
+    // EFFECTS: returns a read-only list of the foods in this snapshot, in the order added
+    public List<Food> getFoods() {
+        return Collections.unmodifiableList(Arrays.asList(foods).subList(0, size));
+    }
+
+    @Override
+    public JSONObject toJson() {
+        JSONArray jsonArray = new JSONArray();
+        for (int i = 0; i < size; i++) {
+            jsonArray.put(foods[i].toJson(statusDate));
+        }
+        JSONObject json = new JSONObject();
+        json.put("foods", jsonArray);
+        return json;
+    }
+}
@@ -0,0 +1,179 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+// Represents a calendar that can be shared by several threads, e.g. the GUI, a save thread and import workers
+// Queries hold a read lock, so they run in parallel with each other; changes hold the write lock
+// A query only takes the write lock first on the first call after the date changes, to move the status date on;
+// the status date is also kept in a volatile field, so checking it takes no lock
+// Snapshots are taken under the write lock in O(1), then read, rendered or saved without any lock
+// Observers are notified while the write lock is held, one change at a time
+public class ConcurrentCalendar extends Calendar {
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile LocalDate statusDate; // the calendar's status date, readable without the lock
+
+    // EFFECTS: creates a concurrent calendar object with an empty list of food products
+    public ConcurrentCalendar() {
+        super();
+        statusDate = getStatusDate();
+    }
+
+    @Override
+    public void addObserver(CalendarObserver observer) {
+        write(() -> {
+            super.addObserver(observer);
+            return null;
+        });
+    }
+
+    @Override
+    public void removeObserver(CalendarObserver observer) {
+        write(() -> {
+            super.removeObserver(observer);
+            return null;
+        });
+    }
+
+    @Override
+    public void addFood(Food food) {
+        write(() -> {
+            super.addFood(food);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean removeFood(String foodName) {
+        return write(() -> super.removeFood(foodName));
+    }
+
+    @Override
+    public boolean removeFood(Food food) {
+        return write(() -> super.removeFood(food));
+    }
+
+    @Override
+    public void addAll(Collection<? extends Food> newFoods) {
+        write(() -> {
+            super.addAll(newFoods);
+            return null;
+        });
+    }
+
+    @Override
+    public int removeIf(Predicate<? super Food> filter) {
+        return write(() -> super.removeIf(filter));
+    }
+
+    @Override
+    public void clearList() {
+        write(() -> {
+            super.clearList();
+            return null;
+        });
+    }
+
+    @Override
+    public List<Food> getFoodListExpiresInDays(int days) {
+        return read(() -> super.getFoodListExpiresInDays(days));
+    }
+
+    @Override
+    public int[] countExpiringPerDay(LocalDate first, LocalDate last) {
+        return read(() -> super.countExpiringPerDay(first, last));
+    }
+
+    @Override
+    public boolean searchCheckStatus(String foodName) {
+        return read(() -> super.searchCheckStatus(foodName));
+    }
+
+    @Override
+    public Food findFood(String foodName) {
+        return read(() -> super.findFood(foodName));
+    }
+
+    @Override
+    public String returnSortedList() {
+        return read(() -> super.returnSortedList());
+    }
+
+    @Override
+    public int size() {
+        return read(() -> super.size());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the food at index in the order added, under the read lock unless holes left by
+    //          removed foods must first be closed up, which takes the write lock;
+    //          throws IndexOutOfBoundsException if index is not less than size() or is negative
+    @Override
+    public Food getFood(int index) {
+        Food food = read(() -> isCompactBefore(index) ? super.getFood(index) : null);
+        return food != null ? food : write(() -> super.getFood(index));
+    }
+
+    @Override
+    public long getVersion() {
+        return read(() -> super.getVersion());
+    }
+
+    // EFFECTS: returns a read-only list of the foods in the order added, as of this call,
+    //          which later changes to this calendar do not affect
+    @Override
+    public List<Food> getFoodList() {
+        return snapshot().getFoods();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns an immutable snapshot of the foods in the order added, with up-to-date expiry statuses;
+    //          the write lock is only held while the snapshot is taken, which is O(1)
+    @Override
+    public CalendarSnapshot snapshot() {
+        return write(() -> super.snapshot());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: brings expiry statuses up to date; takes no lock unless the date has changed since they were
+    //          last brought up to date, and then takes the write lock, unless called during a query, which
+    //          brings them up to date just before taking the read lock
+    @Override
+    public void refreshExpiryStatus() {
+        if (lock.isWriteLockedByCurrentThread()) {
+            super.refreshExpiryStatus();
+            statusDate = getStatusDate();
+        } else if (!ExpiryClock.getInstance().today().equals(statusDate) && lock.getReadHoldCount() == 0) {
+            write(() -> {
+                refreshExpiryStatus();
+                return null;
+            });
+        }
+    }
+
+    // EFFECTS: brings expiry statuses up to date, then returns the result of query run under the read lock
+    <T> T read(Supplier<T> query) {
+        refreshExpiryStatus();
+        return locked(lock.readLock(), query);
+    }
+
+    // EFFECTS: returns the result of change run under the write lock
+    private <T> T write(Supplier<T> change) {
+        return locked(lock.writeLock(), change);
+    }
+
+    // EFFECTS: returns the result of action run while holding held
+    private <T> T locked(Lock held, Supplier<T> action) {
+        held.lock();
+        try {
+            return action.get();
+        } finally {
+            held.unlock();
+        }
+    }
+}
@@ -1,16 +1,44 @@
 package model;
 
-import java.util.Calendar;
 import java.util.Date;
+import java.util.Objects;
 
 
 /**
  * Represents an alarm system event.
+ * Events are structured: a kind, a timestamp in nanoseconds since the epoch,
+ * the name of the food involved (if any) and a count. Recording an event
+ * allocates nothing but the event itself; a Date is only created when asked for.
  */
 public class Event {
+    /**
+     * The kinds of event that can be logged, each with its description.
+     */
+    public enum Kind {
+        MESSAGE(null),
+        FOOD_ADDED("Added food to calendar"),
+        FOOD_REMOVED("Removed food from calendar"),
+        LIST_CLEARED("Cleared list of foods"),
+        LIST_FILTERED("Displayed filtered list of foods");
+
+        private final String description;
+
+        Kind(String description) {
+            this.description = description;
+        }
+    }
+
     private static final int HASH_CONSTANT = 13;
-    private Date dateLogged;
-    private String description;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    // wall-clock time and System.nanoTime() at class load; later timestamps are measured from these
+    private static final long BASE_EPOCH_NANOS = System.currentTimeMillis() * NANOS_PER_MILLI;
+    private static final long BASE_NANO_TIME = System.nanoTime();
+
+    private final Kind kind;
+    private final long timestamp;
+    private final String foodName;
+    private final int count;
+    private final String description;
 
     /**
      * Creates an event with the given description
@@ -19,17 +47,89 @@ public class Event {
      * @param description a description of the event
      */
     public Event(String description) {
-        dateLogged = Calendar.getInstance().getTime();
+        this(Kind.MESSAGE, null, 0, description);
+    }
+
+    /**
+     * Creates an event of the given kind with the current date/time stamp.
+     *
+     * @param kind     the kind of event, not MESSAGE
+     * @param foodName the name of the food involved, or null if there is none
+     * @param count    the number of foods involved
+     * @throws IllegalArgumentException if kind is MESSAGE, which has no description of its own
+     */
+    public Event(Kind kind, String foodName, int count) {
+        this(kind, foodName, count, describe(kind));
+    }
+
+    private static String describe(Kind kind) {
+        if (kind == Kind.MESSAGE) {
+            throw new IllegalArgumentException("A MESSAGE event needs a description");
+        }
+        return kind.description;
+    }
+
+    private Event(Kind kind, String foodName, int count, String description) {
+        this.timestamp = now();
+        this.kind = kind;
+        this.foodName = foodName;
+        this.count = count;
         this.description = description;
     }
 
+    /**
+     * Gets the current time without allocating: the wall-clock time at class load
+     * advanced by the monotonic System.nanoTime() since then.
+     *
+     * @return nanoseconds since the epoch
+     */
+    public static long now() {
+        return BASE_EPOCH_NANOS + (System.nanoTime() - BASE_NANO_TIME);
+    }
+
     /**
      * Gets the date of this event (includes time).
      *
      * @return the date of the event
      */
     public Date getDate() {
-        return dateLogged;
+        return new Date(timestamp / NANOS_PER_MILLI);
+    }
+
+    /**
+     * Gets the time of this event.
+     *
+     * @return nanoseconds since the epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Gets the kind of this event.
+     *
+     * @return the kind of the event
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Gets the name of the food involved in this event.
+     *
+     * @return the name of the food, or null if there is none
+     */
+    public String getFoodName() {
+        return foodName;
+    }
+
+    /**
+     * Gets the number of foods involved in this event.
+     *
+     * @return the number of foods
+     */
+    public int getCount() {
+        return count;
     }
 
     /**
@@ -53,17 +153,20 @@ public class Event {
 
         Event otherEvent = (Event) other;
 
-        return (this.dateLogged.equals(otherEvent.dateLogged)
-                && this.description.equals(otherEvent.description));
+        return (this.timestamp == otherEvent.timestamp
+                && this.kind == otherEvent.kind
+                && this.count == otherEvent.count
+                && Objects.equals(this.foodName, otherEvent.foodName)
+                && Objects.equals(this.description, otherEvent.description));
     }
 
     @Override
     public int hashCode() {
-        return (HASH_CONSTANT * dateLogged.hashCode() + description.hashCode());
+        return (HASH_CONSTANT * Long.hashCode(timestamp) + Objects.hashCode(description));
     }
 
     @Override
     public String toString() {
-        return dateLogged.toString() + "\n" + description;
+        return getDate().toString() + "\n" + description;
     }
 }
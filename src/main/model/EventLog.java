@@ -3,61 +3,152 @@ package model;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Represents a log of alarm system events.
  * We use the Singleton Design Pattern to ensure that there is only
  * one EventLog in the system and that the system has global access
  * to the single instance of the EventLog.
+ * By default every event is kept; with a retention set, only the most
+ * recent events are kept, in a ring buffer. Either way events can be logged
+ * from any number of threads at once without locking, and iteration is weakly
+ * consistent: it never fails, but may or may not see events logged during it.
  */
 public class EventLog implements Iterable<Event> {
     /**
-     * the only EventLog in the system (Singleton Design Pattern)
+     * retention meaning every event is kept
      */
-    private static EventLog theLog;
-    private Collection<Event> events;
+    public static final int UNBOUNDED = 0;
+
+    /**
+     * the only EventLog in the system (Singleton Design Pattern),
+     * created when the class is initialized so it is safely published to every thread
+     */
+    private static final EventLog theLog = new EventLog();
+    private final Collection<Event> events;
+    private volatile EventRing ring; // null unless a retention is set
+    private volatile EventSink sink; // null unless events are also handed to a sink
 
     /**
      * Prevent external construction.
      * (Singleton Design Pattern).
      */
     private EventLog() {
-        events = new ArrayList<Event>();
+        events = new ConcurrentLinkedQueue<>();
     }
 
     /**
-     * Gets instance of EventLog - creates it
-     * if it doesn't already exist.
+     * Gets instance of EventLog.
      * (Singleton Design Pattern)
      *
      * @return instance of EventLog
      */
     public static EventLog getInstance() {
-        if (theLog == null) {
-            theLog = new EventLog();
-        }
         return theLog;
     }
 
     /**
-     * Adds an event to the event log.
+     * Sets how many of the most recent events are kept. Events already logged
+     * are kept up to the new retention. Since logging takes no lock, an event
+     * logged by another thread while the retention is being changed may be lost.
+     *
+     * @param retention the number of most recent events to keep, or UNBOUNDED to keep every event
+     * @throws IllegalArgumentException if retention is neither greater than 0 nor UNBOUNDED
+     */
+    public synchronized void setRetention(int retention) {
+        if (retention < 0) {
+            throw new IllegalArgumentException("retention must be greater than 0 or UNBOUNDED: " + retention);
+        }
+        List<Event> retained = new ArrayList<>();
+        iterator().forEachRemaining(retained::add);
+        events.clear();
+        if (retention == UNBOUNDED) {
+            ring = null;
+            events.addAll(retained);
+            return;
+        }
+        EventRing newRing = new EventRing(retention);
+        for (Event e : retained.subList(Math.max(0, retained.size() - retention), retained.size())) {
+            newRing.add(e);
+        }
+        ring = newRing;
+    }
+
+    /**
+     * Gets how many of the most recent events are kept.
+     *
+     * @return the retention, or UNBOUNDED if every event is kept
+     */
+    public int getRetention() {
+        EventRing current = ring;
+        return current == null ? UNBOUNDED : current.capacity();
+    }
+
+    /**
+     * Sets where logged events are handed to, in addition to being kept in this log.
+     *
+     * @param sink the sink to hand each logged event to, or null for none
+     */
+    public void setSink(EventSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Adds an event to the event log and hands it to the sink, if there is one.
      *
      * @param e the event to be added
      */
     public void logEvent(Event e) {
-        events.add(e);
+        EventRing current = ring;
+        if (current != null) {
+            current.add(e);
+        } else {
+            events.add(e);
+        }
+        EventSink currentSink = sink;
+        if (currentSink != null) {
+            currentSink.eventLogged(e);
+        }
     }
 
     /**
-     * Clears the event log and logs the event.
+     * Clears the event log and logs the event. Since logging takes no lock, an event
+     * logged by another thread while the log is being cleared may be discarded along
+     * with the rest, as if it had been logged just before.
      */
-    public void clear() {
-        events.clear();
+    public synchronized void clear() {
+        EventRing current = ring;
+        if (current != null) {
+            ring = new EventRing(current.capacity());
+        } else {
+            events.clear();
+        }
         logEvent(new Event("Event log cleared."));
     }
 
+    /**
+     * Gets the logged events of a kind within a time range, in the order logged.
+     *
+     * @param kind the kind of events wanted
+     * @param from the earliest timestamp wanted, in nanoseconds since the epoch (inclusive)
+     * @param to   the latest timestamp wanted, in nanoseconds since the epoch (exclusive)
+     * @return the matching events
+     */
+    public List<Event> query(Event.Kind kind, long from, long to) {
+        List<Event> matches = new ArrayList<>();
+        for (Event e : this) {
+            if (e.getKind() == kind && e.getTimestamp() >= from && e.getTimestamp() < to) {
+                matches.add(e);
+            }
+        }
+        return matches;
+    }
+
     @Override
     public Iterator<Event> iterator() {
-        return events.iterator();
+        EventRing current = ring;
+        return current != null ? current.iterator() : events.iterator();
     }
 }
@@ -0,0 +1,110 @@
+package model;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Represents a fixed-capacity ring buffer of events that keeps only the most
+ * recently added ones. Producers claim a slot with a single atomic increment
+ * and never wait for each other or for readers. Iteration is weakly consistent:
+ * it returns retained events in the order added, skipping any slot that has
+ * not been written yet or has already been overwritten by a newer event.
+ */
+class EventRing implements Iterable<Event> {
+    private final AtomicReferenceArray<Entry> slots;
+    private final AtomicLong next = new AtomicLong(); // sequence number of the next event added
+
+    /**
+     * Creates an empty ring.
+     *
+     * @param capacity the number of most recent events retained, greater than 0
+     * @throws IllegalArgumentException if capacity is not greater than 0
+     */
+    EventRing(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be greater than 0: " + capacity);
+        }
+        slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Gets the number of most recent events this ring retains.
+     *
+     * @return the capacity of this ring
+     */
+    int capacity() {
+        return slots.length();
+    }
+
+    /**
+     * Adds an event, overwriting the oldest retained event if the ring is full.
+     *
+     * @param e the event to be added
+     */
+    void add(Event e) {
+        long sequence = next.getAndIncrement();
+        slots.set(slotOf(sequence), new Entry(sequence, e));
+    }
+
+    @Override
+    public Iterator<Event> iterator() {
+        long end = next.get();
+        return new RingIterator(Math.max(0, end - slots.length()), end);
+    }
+
+    private int slotOf(long sequence) {
+        return (int) (sequence % slots.length());
+    }
+
+    // An event with the sequence number it was added with
+    private static final class Entry {
+        private final long sequence;
+        private final Event event;
+
+        private Entry(long sequence, Event event) {
+            this.sequence = sequence;
+            this.event = event;
+        }
+    }
+
+    // Iterates over the events with sequence numbers in [from, end) that are still retained
+    private final class RingIterator implements Iterator<Event> {
+        private long sequence;
+        private final long end;
+        private Event nextEvent;
+
+        private RingIterator(long from, long end) {
+            this.sequence = from;
+            this.end = end;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextEvent != null;
+        }
+
+        @Override
+        public Event next() {
+            if (nextEvent == null) {
+                throw new NoSuchElementException();
+            }
+            Event e = nextEvent;
+            advance();
+            return e;
+        }
+
+        private void advance() {
+            nextEvent = null;
+            while (nextEvent == null && sequence < end) {
+                Entry entry = slots.get(slotOf(sequence));
+                if (entry != null && entry.sequence == sequence) {
+                    nextEvent = entry.event;
+                }
+                sequence++;
+            }
+        }
+    }
+}
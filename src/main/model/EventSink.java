@@ -0,0 +1,15 @@
+package model;
+
+/**
+ * Represents a destination that is handed each event as it is logged,
+ * e.g. to persist the event log. Implementations must return quickly,
+ * since events are handed over on the thread that logged them.
+ */
+public interface EventSink {
+    /**
+     * Receives an event that has just been logged.
+     *
+     * @param e the event that was logged
+     */
+    void eventLogged(Event e);
+}
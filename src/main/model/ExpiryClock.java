@@ -0,0 +1,75 @@
+package model;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * Represents the source of "today" used to decide whether food is expired.
+ * The date is read from a java.time.Clock and cached until the clock passes
+ * midnight, so it stays correct in a process that runs for weeks.
+ * We use the Singleton Design Pattern so that every calendar and food in the
+ * system agrees on the current date.
+ */
+public class ExpiryClock {
+    /**
+     * the only ExpiryClock in the system (Singleton Design Pattern)
+     */
+    private static final ExpiryClock theClock = new ExpiryClock();
+    private Clock clock;
+    private LocalDate today;
+    private long nextDayMillis; // clock time at which today ends, in epoch milliseconds
+
+    /**
+     * Prevent external construction.
+     * (Singleton Design Pattern).
+     */
+    private ExpiryClock() {
+        setClock(Clock.system(Food.TIME_ZONE));
+    }
+
+    /**
+     * Gets instance of ExpiryClock.
+     * (Singleton Design Pattern)
+     *
+     * @return instance of ExpiryClock
+     */
+    public static ExpiryClock getInstance() {
+        return theClock;
+    }
+
+    /**
+     * Replaces the clock the current date is read from, e.g. with a fixed clock in tests.
+     *
+     * @param clock the clock to read the current date from
+     */
+    public synchronized void setClock(Clock clock) {
+        this.clock = clock;
+        updateToday();
+    }
+
+    /**
+     * Gets the current date, re-reading the clock only once the cached date has ended.
+     *
+     * @return the current date in the clock's time zone
+     */
+    public synchronized LocalDate today() {
+        if (clock.millis() >= nextDayMillis) {
+            updateToday();
+        }
+        return today;
+    }
+
+    /**
+     * Gets the time left until the current date ends, e.g. to schedule work at midnight.
+     *
+     * @return milliseconds until the next day starts, at least 0
+     */
+    public synchronized long millisUntilNextDay() {
+        return Math.max(0, nextDayMillis - clock.millis());
+    }
+
+    private void updateToday() {
+        today = LocalDate.now(clock);
+        nextDayMillis = today.plusDays(1).atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+    }
+}
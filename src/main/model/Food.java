@@ -4,6 +4,7 @@ import org.json.JSONObject;
 import persistence.Writable;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 
@@ -13,44 +14,82 @@ import static java.time.temporal.ChronoUnit.DAYS;
 // Date format is parsed according to the format of DATE_FORMAT
 public class Food implements Writable {
     private final String name;              // name of food
-    private LocalDate expiryDate;     // date food expires
+    private LocalDate expiryDate;     // date food expires; a food is expired on the day of the expiry date
     private final LocalDate datePurchased;  // date food purchased
-    private boolean expired;          // expiry status, true if food expired
-                                      // a food is expired on the day of the expiry date
 
     // LocalDate CONSTANTS
     // formatting for converting string to date
     public static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy/MM/dd");
     public static final ZoneId TIME_ZONE = ZoneId.of("America/Los_Angeles");  // sets timezone
-    public static final LocalDate TODAY = LocalDate.now(TIME_ZONE); // gets current date
 
     // REQUIRES: datePurchased is before expiryDate
-    // EFFECTS: creates a food object with a name, expiry date,
-    //          date purchased, and expiry status based on current date
+    // EFFECTS: creates a food object with a name, expiry date and date purchased
     public Food(String name, String expiryDate, String datePurchased) {
+        this(name, parseDate(expiryDate), parseDate(datePurchased));
+    }
+
+    // REQUIRES: datePurchased is before expiryDate
+    // EFFECTS: creates a food object with a name, expiry date and date purchased
+    public Food(String name, LocalDate expiryDate, LocalDate datePurchased) {
         this.name = name;
-        this.expiryDate = LocalDate.parse(expiryDate, DATE_FORMAT);
-        this.datePurchased = LocalDate.parse(datePurchased, DATE_FORMAT);
-        updateExpiryStatus();
+        this.expiryDate = expiryDate;
+        this.datePurchased = datePurchased;
     }
 
-    // MODIFIES: this
-    // EFFECTS: sets an expiry date in the format dateFormat and updates expired status
-    //          (Note: this method is for usage in tests only)
-    public void setExpiryDate(String expiryDate) {
-        this.expiryDate = LocalDate.parse(expiryDate, DATE_FORMAT);
-        updateExpiryStatus();
+    // REQUIRES: datePurchased is before expiryDate
+    // EFFECTS: creates a food object with a name, expiry date and date purchased given as
+    //          days since 1970/01/01
+    public static Food ofEpochDays(String name, long expiryEpochDay, long purchasedEpochDay) {
+        return new Food(name, LocalDate.ofEpochDay(expiryEpochDay), LocalDate.ofEpochDay(purchasedEpochDay));
+    }
+
+    // EFFECTS: parses a date in the format of DATE_FORMAT and returns it;
+    //          valid dates written exactly as yyyy/MM/dd are read digit by digit without DATE_FORMAT,
+    //          anything else is left to DATE_FORMAT, so results and errors are the same as LocalDate.parse;
+    //          throws DateTimeParseException if text cannot be parsed
+    public static LocalDate parseDate(String text) {
+        if (text.length() == 10 && text.charAt(4) == '/' && text.charAt(7) == '/') {
+            int year = parseDigits(text, 0, 4);
+            int month = parseDigits(text, 5, 7);
+            int day = parseDigits(text, 8, 10);
+            if (year >= 1 && month >= 1 && month <= 12 && day >= 1
+                    && day <= YearMonth.of(year, month).lengthOfMonth()) {
+                return LocalDate.of(year, month, day);
+            }
+        }
+        return LocalDate.parse(text, DATE_FORMAT);
+    }
+
+    // EFFECTS: returns the number written in text from begin (inclusive) to end (exclusive),
+    //          or -1 if any of those characters is not a digit
+    private static int parseDigits(String text, int begin, int end) {
+        int value = 0;
+        for (int i = begin; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
     }
 
     // MODIFIES: this
-    // EFFECTS: updates expiry status of food according to current date
-    private void updateExpiryStatus() {
-        expired = (expiryDate.isBefore(TODAY)) || (expiryDate.isEqual(TODAY));
+    // EFFECTS: sets an expiry date in the format dateFormat
+    //          (Note: this method is for usage in tests only)
+    public void setExpiryDate(String expiryDate) {
+        this.expiryDate = parseDate(expiryDate);
     }
 
     // EFFECTS: returns the amount of days until food is expired, negative means food expired x days ago
     public int daysUntilExpired() {
-        return (int) DAYS.between(TODAY, expiryDate);
+        return daysUntilExpiredOn(ExpiryClock.getInstance().today());
+    }
+
+    // EFFECTS: returns the amount of days from today until food is expired, negative means food expired
+    //          x days before today
+    private int daysUntilExpiredOn(LocalDate today) {
+        return (int) DAYS.between(today, expiryDate);
     }
 
     // EFFECTS: returns the name of a food product with expiry status,
@@ -58,23 +97,28 @@ public class Food implements Writable {
     //          and date purchased
     @Override
     public String toString() {
+        LocalDate today = ExpiryClock.getInstance().today();
         String formattedExpiryDate = expiryDate.format(DATE_FORMAT);
         String formattedDatePurchased = datePurchased.format(DATE_FORMAT);
-        if (expired) {
-            return name + ": EXPIRED " + daysUntilExpired() * -1
+        if (isExpiredOn(today)) {
+            return name + ": EXPIRED " + daysUntilExpiredOn(today) * -1
                     + " days ago (" + formattedExpiryDate
                     + ")\n purchased " + formattedDatePurchased;
         }
-        return name + ": SAFE TO EAT for " + daysUntilExpired()
+        return name + ": SAFE TO EAT for " + daysUntilExpiredOn(today)
                 + " days (until " + formattedExpiryDate
                 + ")\n purchased " + formattedDatePurchased;
     }
 
-    // MODIFIES: this
-    // EFFECTS: updates expiry status according to current date and then checks if food is expired
+    // EFFECTS: returns true if food is expired as of the current date from ExpiryClock,
+    //          the same date toString and daysUntilExpired count from
     public boolean isExpired() {
-        updateExpiryStatus();
-        return expired;
+        return isExpiredOn(ExpiryClock.getInstance().today());
+    }
+
+    // EFFECTS: returns true if food is expired as of today
+    public boolean isExpiredOn(LocalDate today) {
+        return !expiryDate.isAfter(today);
     }
 
     public String getName() {
@@ -92,11 +136,16 @@ public class Food implements Writable {
     // EFFECTS: Returns food object formatted as a string, with details
     @Override
     public JSONObject toJson() {
+        return toJson(ExpiryClock.getInstance().today());
+    }
+
+    // EFFECTS: Returns food object formatted as a string, with details and expiry status as of today
+    public JSONObject toJson(LocalDate today) {
         JSONObject json = new JSONObject();
         json.put("name", name);
         json.put("expiry_date", expiryDate.format(DATE_FORMAT));
         json.put("date_purchased", datePurchased.format(DATE_FORMAT));
-        json.put("expired", expired);
+        json.put("expired", isExpiredOn(today));
         return json;
     }
 
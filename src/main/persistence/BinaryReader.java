@@ -0,0 +1,60 @@
+package persistence;
+
+import model.Calendar;
+import model.Food;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Represents a reader that reads calendar from a binary snapshot written by BinaryWriter
+public class BinaryReader {
+    private final String source;
+
+    // EFFECTS: constructs reader to read from source file
+    public BinaryReader(String source) {
+        this.source = source;
+    }
+
+    // EFFECTS: reads calendar from file and returns it;
+    // throws IOException if an error occurs reading data from file or it is not a binary snapshot
+    public Calendar read() throws IOException {
+        model.Calendar c = new model.Calendar();
+        List<Food> foods = new ArrayList<>();
+        readFoods(foods::add);
+        c.addAll(foods);
+        return c;
+    }
+
+    // EFFECTS: reads foods from file in the order they were added, passing each to consumer;
+    // throws IOException if an error occurs reading data from file or it is not a binary snapshot
+    public void readFoods(Consumer<Food> consumer) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(source)))) {
+            if (in.readInt() != BinaryWriter.MAGIC) {
+                throw new IOException("Not a calendar snapshot: " + source);
+            }
+            short version = in.readShort();
+            if (version != BinaryWriter.VERSION) {
+                throw new IOException("Unsupported calendar snapshot version " + version + ": " + source);
+            }
+            String[] names = new String[in.readInt()];
+            int foodCount = in.readInt();
+            for (int i = 0; i < names.length; i++) {
+                names[i] = in.readUTF();
+            }
+            for (int i = 0; i < foodCount; i++) {
+                consumer.accept(readFood(in, names));
+            }
+        }
+    }
+
+    // EFFECTS: reads one food record from in, looking its name up in names
+    private Food readFood(DataInputStream in, String[] names) throws IOException {
+        String name = names[in.readInt()];
+        int expiryEpochDay = in.readInt();
+        int purchasedEpochDay = in.readInt();
+        in.readByte(); // expiry status is recomputed from the current date
+        return Food.ofEpochDays(name, expiryEpochDay, purchasedEpochDay);
+    }
+}
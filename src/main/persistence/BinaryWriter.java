@@ -0,0 +1,72 @@
+package persistence;
+
+import model.Calendar;
+import model.CalendarSnapshot;
+import model.Food;
+
+import java.io.*;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Represents a writer that writes a compact binary snapshot of calendar to file
+// Layout (all numbers big-endian):
+//   int MAGIC, short VERSION, int number of names, int number of foods,
+//   the distinct names in order of first use, each as modified UTF-8 (DataOutput.writeUTF),
+//   then one RECORD_SIZE-byte record per food in the order added:
+//   int index into the names, int expiry date as epoch day, int date purchased as epoch day,
+//   byte flags (EXPIRED_FLAG set if the food was expired when written)
+public class BinaryWriter {
+    public static final int MAGIC = 0x45585044; // "EXPD"
+    public static final short VERSION = 1;
+    public static final int HEADER_SIZE = 14;
+    public static final int RECORD_SIZE = 13;
+    public static final byte EXPIRED_FLAG = 1;
+
+    private DataOutputStream writer;
+    private final String destination;
+
+    // EFFECTS: constructs writer to write to destination file
+    public BinaryWriter(String destination) {
+        this.destination = destination;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: opens writer; throws FileNotFoundException if destination file cannot
+    // be opened for writing
+    public void open() throws FileNotFoundException {
+        writer = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(destination)));
+    }
+
+    // REQUIRES: every food name is at most 65535 bytes in modified UTF-8
+    // MODIFIES: this
+    // EFFECTS: writes binary snapshot of calendar to file;
+    //          throws IOException if an error occurs writing to file
+    public void write(Calendar calendar) throws IOException {
+        CalendarSnapshot snapshot = calendar.snapshot();
+        List<Food> foods = snapshot.getFoods();
+        Map<String, Integer> names = new LinkedHashMap<>();
+        for (Food f : foods) {
+            names.putIfAbsent(f.getName(), names.size());
+        }
+        writer.writeInt(MAGIC);
+        writer.writeShort(VERSION);
+        writer.writeInt(names.size());
+        writer.writeInt(foods.size());
+        for (String name : names.keySet()) {
+            writer.writeUTF(name);
+        }
+        for (Food f : foods) {
+            writer.writeInt(names.get(f.getName()));
+            writer.writeInt((int) f.getExpiryDate().toEpochDay());
+            writer.writeInt((int) f.getDatePurchased().toEpochDay());
+            writer.writeByte(f.isExpiredOn(snapshot.getStatusDate()) ? EXPIRED_FLAG : 0);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: closes writer; throws IOException if buffered data cannot be written to file
+    public void close() throws IOException {
+        writer.close();
+    }
+}
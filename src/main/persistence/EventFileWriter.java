@@ -0,0 +1,219 @@
+package persistence;
+
+import model.Event;
+import model.EventLog;
+import model.EventSink;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Represents a sink that writes logged events to a rolling log file on a background thread,
+// one tab-separated line per event: time, kind, description, food name, count
+// Logging only puts the event on a bounded queue, so it never waits for the disk; the background
+// thread writes whatever has queued up as one batch, one line per event
+// When the file grows past maxFileBytes it is renamed to destination.1 (older files to .2, .3, ...)
+// and a new file is started; at most maxFiles old files are kept
+// Events still queued when the process exits are written by a shutdown hook
+// Failures are logged to the EventLog as messages: a write failure once until writing succeeds again,
+// so the message cannot keep the writer busy; if the file cannot be rolled over, writing carries on
+// appending to it and the roll over is retried once it has grown by another maxFileBytes
+public class EventFileWriter implements EventSink {
+    private static final int QUEUE_CAPACITY = 65536;
+    private static final int MAX_BATCH = 1024;
+    private static final Event STOP = new Event("Stop writing events"); // tells the writer thread to finish
+
+    private final String destination;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private final BlockingQueue<Event> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicLong dropped = new AtomicLong();
+    private Thread thread;
+    private Thread shutdownHook;
+    private Writer writer;
+    private long fileBytes;
+    private long rollAt;      // file size at which the file is next rolled over
+    private boolean failing;  // true if the last batch could not be written
+
+    // REQUIRES: maxFileBytes > 0, maxFiles >= 0
+    // EFFECTS: constructs sink writing to destination file, rolling it over after maxFileBytes bytes
+    //          and keeping at most maxFiles old files
+    public EventFileWriter(String destination, long maxFileBytes, int maxFiles) {
+        this.destination = destination;
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = maxFiles;
+        this.rollAt = maxFileBytes;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: opens destination for appending and starts the background writer thread;
+    //          throws IOException if destination cannot be opened for writing
+    public void start() throws IOException {
+        openFile();
+        thread = new Thread(this::writeEvents, "event-file-writer");
+        thread.setDaemon(true);
+        thread.start();
+        shutdownHook = new Thread(this::finish);
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the events still queued, stops the background thread and closes the file;
+    //          does nothing if the writer was never started, or has already been closed
+    public void close() {
+        if (shutdownHook == null) {
+            return;
+        }
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // already shutting down, the hook is doing the same
+        }
+        finish();
+    }
+
+    // EFFECTS: returns the number of events dropped because the queue was full
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    @Override
+    public void eventLogged(Event e) {
+        if (!queue.offer(e)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    // EFFECTS: queues STOP and waits for the background thread to write everything before it;
+    //          does nothing if the thread was never started or has already finished
+    private void finish() {
+        if (thread == null || !thread.isAlive()) {
+            return;
+        }
+        try {
+            queue.put(STOP);
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes queued events in batches until STOP is taken, then closes the file
+    private void writeEvents() {
+        List<Event> batch = new ArrayList<>(MAX_BATCH);
+        boolean stopped = false;
+        while (!stopped) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                batch.add(STOP);
+            }
+            queue.drainTo(batch, MAX_BATCH - batch.size());
+            stopped = writeBatch(batch);
+            batch.clear();
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            report("Unable to close event log", e);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the events in batch before STOP, rolling the file over as needed,
+    //          and flushes them; if they cannot be written, reports it unless the last batch failed too;
+    //          returns true if batch contains STOP
+    private boolean writeBatch(List<Event> batch) {
+        boolean stopped = false;
+        try {
+            for (Event e : batch) {
+                if (e == STOP) {
+                    stopped = true;
+                    break;
+                }
+                writeEvent(e);
+            }
+            writer.flush();
+            failing = false;
+        } catch (IOException e) {
+            if (!failing) {
+                report("Unable to write event log", e);
+            }
+            failing = true;
+        }
+        return stopped;
+    }
+
+    // EFFECTS: logs a message that what failed with e to the event log
+    private void report(String what, IOException e) {
+        EventLog.getInstance().logEvent(new Event(what + " " + destination + ": " + e.getMessage()));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes e as one line, rolling the file over first if it is full
+    private void writeEvent(Event e) throws IOException {
+        if (fileBytes >= rollAt) {
+            rollOver();
+        }
+        String line = Instant.ofEpochSecond(0, e.getTimestamp()) + "\t" + e.getKind()
+                + "\t" + e.getDescription().replace('\n', ' ')
+                + "\t" + (e.getFoodName() == null ? "" : e.getFoodName().replace('\n', ' '))
+                + "\t" + e.getCount() + "\n";
+        writer.write(line);
+        fileBytes += line.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: closes the file, moves it aside and opens a new one; if it cannot be moved aside, reports it
+    //          and reopens the file to keep appending to it, putting off the next roll over by maxFileBytes;
+    //          throws IOException if the file cannot be closed or reopened
+    private void rollOver() throws IOException {
+        writer.close();
+        boolean rolled = false;
+        try {
+            shiftFiles();
+            rolled = true;
+        } catch (IOException e) {
+            report("Unable to roll over event log", e);
+        } finally {
+            openFile();
+        }
+        rollAt = rolled ? maxFileBytes : fileBytes + maxFileBytes;
+    }
+
+    // EFFECTS: shifts destination.1 .. destination.(maxFiles - 1) up by one and renames the file
+    //          to destination.1, or deletes it if no old files are kept
+    private void shiftFiles() throws IOException {
+        Path current = Paths.get(destination);
+        Files.deleteIfExists(Paths.get(destination + "." + maxFiles));
+        for (int i = maxFiles - 1; i >= 1; i--) {
+            Path older = Paths.get(destination + "." + i);
+            if (Files.exists(older)) {
+                Files.move(older, Paths.get(destination + "." + (i + 1)), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (maxFiles > 0) {
+            Files.move(current, Paths.get(destination + ".1"), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(current);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: opens destination for appending
+    private void openFile() throws IOException {
+        writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(destination, true),
+                StandardCharsets.UTF_8));
+        fileBytes = Files.size(Paths.get(destination));
+    }
+}
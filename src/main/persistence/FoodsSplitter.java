@@ -0,0 +1,198 @@
+package persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.json.JSONException;
+import org.json.JSONTokener;
+
+// Represents a cheap scan of the top level of a calendar held in text that finds where its foods are
+// The scan only tracks braces, brackets and string quotes: it splits the foods array into chunks at food
+// object boundaries without parsing the foods, so the chunks can be parsed independently and in parallel
+class FoodsSplitter {
+    private final String text;
+    private final int chunkSize;
+    private final List<int[]> chunks = new ArrayList<>();
+    private Object sequence;
+    private boolean foundFoods;
+    private int pos;
+
+    // REQUIRES: chunkSize > 0
+    // EFFECTS: scans text, a calendar object, splitting its foods array into chunks of at most chunkSize foods;
+    //          values under any other key are skipped without being checked;
+    //          throws JSONException if the calendar object or its foods array is malformed,
+    //          or there is no foods key
+    FoodsSplitter(String text, int chunkSize) {
+        this.text = text;
+        this.chunkSize = chunkSize;
+        scanCalendar();
+        if (!foundFoods) {
+            throw new JSONException("JSONObject[\"" + JsonReader.FOODS_KEY + "\"] not found.");
+        }
+    }
+
+    // EFFECTS: returns the chunks of the foods array in file order, each as {start, end} offsets into text;
+    //          a chunk holds food values separated by commas
+    List<int[]> getChunks() {
+        return chunks;
+    }
+
+    // EFFECTS: returns the value under the journal sequence key, or null if there is none
+    Object getSequence() {
+        return sequence;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: scans the calendar object, splitting the value under the foods key
+    private void scanCalendar() {
+        expect('{');
+        char next = nextClean();
+        while (next != '}') {
+            pos--;
+            expect('"');
+            int keyStart = pos - 1;
+            skipString();
+            String key = (String) new JSONTokener(text.substring(keyStart, pos)).nextValue();
+            expect(':');
+            if (key.equals(JsonReader.FOODS_KEY)) {
+                splitFoods();
+                foundFoods = true;
+            } else if (key.equals(JsonReader.JOURNAL_SEQUENCE_KEY)) {
+                int valueStart = skipWhitespace();
+                skipValue();
+                sequence = new JSONTokener(text.substring(valueStart, pos)).nextValue();
+            } else {
+                skipWhitespace();
+                skipValue();
+            }
+            next = nextSeparator('}');
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: scans the foods array, recording a chunk every chunkSize foods and at the end
+    private void splitFoods() {
+        expect('[');
+        int count = 0;
+        int chunkStart = skipWhitespace();
+        char next = nextClean();
+        while (next != ']') {
+            pos--;
+            skipValue();
+            count++;
+            int end = pos;
+            next = nextSeparator(']');
+            if (count == chunkSize || next == ']') {
+                chunks.add(new int[] {chunkStart, end});
+                count = 0;
+                chunkStart = next == ']' ? pos : pos - 1;
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves past the value starting at pos, matching nested braces and brackets and
+    //          skipping over strings; throws JSONException if there is no value or the text ends first
+    private void skipValue() {
+        int start = pos;
+        char c = peek();
+        if (c == '"') {
+            pos++;
+            skipString();
+        } else if (c == '{' || c == '[') {
+            skipNested();
+        } else {
+            while (pos < text.length() && ",:]}\"{[".indexOf(text.charAt(pos)) < 0
+                    && !Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+        if (pos == start) {
+            throw syntaxError("Missing value");
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves past the object or array starting at pos; throws JSONException if the text ends first
+    private void skipNested() {
+        int depth = 0;
+        do {
+            char c = next();
+            if (c == '"') {
+                skipString();
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+            }
+        } while (depth > 0);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves past the closing quote of the string whose opening quote is just before pos;
+    //          throws JSONException if the text ends first
+    private void skipString() {
+        char c = next();
+        while (c != '"') {
+            if (c == '\\') {
+                next();
+            }
+            c = next();
+        }
+    }
+
+    // EFFECTS: reads the character after a value, which is either ',' or end;
+    //          throws JSONException if it is neither
+    private char nextSeparator(char end) {
+        char next = nextClean();
+        if (next != ',' && next != end) {
+            throw syntaxError("Expected ',' or '" + end + "'");
+        }
+        return next == ',' ? nextClean() : end;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the next non-whitespace character; throws JSONException if it is not expected
+    private void expect(char expected) {
+        if (nextClean() != expected) {
+            throw syntaxError("Expected '" + expected + "'");
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves past whitespace and reads the next character; throws JSONException if the text ends first
+    private char nextClean() {
+        skipWhitespace();
+        return next();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves past whitespace and returns the position reached
+    private int skipWhitespace() {
+        while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the character at pos; throws JSONException if the text has ended
+    private char next() {
+        char c = peek();
+        pos++;
+        return c;
+    }
+
+    // EFFECTS: returns the character at pos; throws JSONException if the text has ended
+    private char peek() {
+        if (pos >= text.length()) {
+            throw syntaxError("Unexpected end of text");
+        }
+        return text.charAt(pos);
+    }
+
+    // EFFECTS: returns an exception reporting message at the current position
+    private JSONException syntaxError(String message) {
+        return new JSONException(message + " at " + pos);
+    }
+}
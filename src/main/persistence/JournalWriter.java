@@ -0,0 +1,167 @@
+package persistence;
+
+import model.Calendar;
+import model.CalendarObserver;
+import model.Food;
+import org.json.JSONObject;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+// Represents a journal that records each change to a calendar as one line of JSON appended to a file,
+// so persisting a change costs the same however many foods the calendar holds
+// A batch of changes is appended with a single flush
+// Every compactThreshold records, the whole calendar is written as a snapshot and the journal is emptied;
+// JsonReader replays the records newer than the snapshot when loading
+// The snapshot writer must be durable, so the old snapshot is intact until the new one has replaced it, and the
+// journal is only emptied after that; a crash at any point leaves a snapshot the journal can be replayed onto
+public class JournalWriter implements CalendarObserver {
+    public static final String SEQUENCE = "seq";
+    public static final String OPERATION = "op";
+    public static final String ADD = "add";
+    public static final String REMOVE = "remove";
+    public static final String CLEAR = "clear";
+
+    private final String journal;
+    private final JsonWriter snapshotWriter;
+    private final int compactThreshold;
+    private Calendar calendar;
+    private Writer writer;
+    private long sequence;         // sequence number of the last record written
+    private int recordsSinceCompaction;
+
+    // REQUIRES: compactThreshold > 0, snapshotWriter writes to the snapshot the journal is replayed on
+    // EFFECTS: constructs journal writing to journal file, compacting into snapshotWriter
+    //          every compactThreshold records;
+    //          throws IllegalArgumentException if snapshotWriter is not durable
+    public JournalWriter(String journal, JsonWriter snapshotWriter, int compactThreshold) {
+        if (!snapshotWriter.isDurable()) {
+            throw new IllegalArgumentException("The snapshot writer of a journal must be durable");
+        }
+        this.journal = journal;
+        this.snapshotWriter = snapshotWriter;
+        this.compactThreshold = compactThreshold;
+    }
+
+    // REQUIRES: lastSequence is the sequence number of the last record reflected in calendar,
+    //           e.g. JsonReader.getLastSequence() after reading calendar
+    // MODIFIES: this, calendar
+    // EFFECTS: opens journal for appending and starts recording changes to calendar;
+    //          throws FileNotFoundException if journal cannot be opened for writing
+    public void attach(Calendar calendar, long lastSequence) throws FileNotFoundException {
+        this.calendar = calendar;
+        this.sequence = lastSequence;
+        this.recordsSinceCompaction = 0;
+        writer = openJournal(true);
+        calendar.addObserver(this);
+    }
+
+    // MODIFIES: this, calendar
+    // EFFECTS: stops recording changes to the attached calendar and closes journal
+    public void detach() throws IOException {
+        calendar.removeObserver(this);
+        writer.close();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the attached calendar as a snapshot, then, once it has replaced the old snapshot,
+    //          empties the journal; throws IOException if either file cannot be written, leaving the
+    //          journal as it was if the snapshot could not be
+    public void compact() throws IOException {
+        snapshotWriter.open();
+        try {
+            snapshotWriter.write(calendar, sequence);
+        } catch (IOException | RuntimeException e) {
+            snapshotWriter.discard();
+            throw e;
+        }
+        snapshotWriter.close();
+        writer.close();
+        writer = openJournal(false);
+        recordsSinceCompaction = 0;
+    }
+
+    // EFFECTS: returns the sequence number of the last record written
+    public long getSequence() {
+        return sequence;
+    }
+
+    @Override
+    public void foodAdded(Food food) {
+        foodsAdded(List.of(food));
+    }
+
+    @Override
+    public void foodRemoved(Food food) {
+        foodsRemoved(List.of(food));
+    }
+
+    @Override
+    public void foodsAdded(List<Food> foods) {
+        for (Food f : foods) {
+            append(record(f, ADD));
+        }
+        flush();
+    }
+
+    // EFFECTS: records each removed food with its dates, so replay removes a food that cannot be told apart
+    //          from it even if it was not the first with its name
+    @Override
+    public void foodsRemoved(List<Food> foods) {
+        for (Food f : foods) {
+            append(record(f, REMOVE));
+        }
+        flush();
+    }
+
+    @Override
+    public void listCleared() {
+        JSONObject json = new JSONObject();
+        json.put(OPERATION, CLEAR);
+        append(json);
+        flush();
+    }
+
+    // EFFECTS: returns a record of operation on food
+    private JSONObject record(Food food, String operation) {
+        JSONObject json = food.toJson();
+        json.put(OPERATION, operation);
+        return json;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: numbers record and writes it to journal as one line;
+    //          throws UncheckedIOException if the journal cannot be written
+    private void append(JSONObject record) {
+        try {
+            sequence++;
+            record.put(SEQUENCE, sequence);
+            writer.write(record.toString());
+            writer.write('\n');
+            recordsSinceCompaction++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: flushes the records written so far to the journal, compacting if the threshold is reached;
+    //          throws UncheckedIOException if either file cannot be written
+    private void flush() {
+        try {
+            writer.flush();
+            if (recordsSinceCompaction >= compactThreshold) {
+                compact();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // EFFECTS: opens journal for writing, keeping existing records if append is true
+    private Writer openJournal(boolean append) throws FileNotFoundException {
+        return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(journal, append),
+                StandardCharsets.UTF_8));
+    }
+}
@@ -1,10 +1,16 @@
 package persistence;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.stream.Stream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
 
 import model.Calendar;
 import model.Food;
@@ -14,58 +20,282 @@ import org.json.*;
 // https://github.students.cs.ubc.ca/CPSC210/JsonSerializationDemo/blob/master/src/main/persistence/JsonReader.java
 
 // Represents a reader that reads calendar from JSON data stored in file
+// The file is read as a stream, in batches of BATCH_SIZE foods: only one batch is held in memory at a time,
+// and a large file costs one event and one capacity reservation per batch rather than per food
+// A parallel reader instead reads the whole file, splits its foods array into batches with a cheap scan
+// and parses the batches on the common fork/join pool, still passing them on in file order
+// If a journal is given, the changes it records after the snapshot in source are replayed on top of it
 public class JsonReader {
+    public static final String JOURNAL_SEQUENCE_KEY = "journal_sequence";
+    static final String FOODS_KEY = "foods";
+    private static final int BATCH_SIZE = 4096;
+
     private final String source;
+    private final String journal;
+    private final boolean parallel;
+    private long lastSequence; // sequence number of the last journal record reflected in the last read
 
     // EFFECTS: constructs reader to read from source file
     public JsonReader(String source) {
+        this(source, null);
+    }
+
+    // EFFECTS: constructs reader to read from source file and then replay journal file, if it exists (and
+    //          journal is not null)
+    public JsonReader(String source, String journal) {
+        this(source, journal, false);
+    }
+
+    // EFFECTS: constructs reader to read from source file and then replay journal file, if it exists (and
+    //          journal is not null); if parallel, foods are parsed on several threads
+    public JsonReader(String source, String journal, boolean parallel) {
         this.source = source;
+        this.journal = journal;
+        this.parallel = parallel;
     }
 
-    // EFFECTS: reads calendar from file and returns it;
+    // EFFECTS: reads calendar from file, replays the journal if there is one, and returns it;
     // throws IOException if an error occurs reading data from file
     public Calendar read() throws IOException {
-        String jsonData = readFile(source);
-        JSONObject jsonObject = new JSONObject(jsonData);
-        return parseCalendar(jsonObject);
+        model.Calendar c = new model.Calendar();
+        lastSequence = 0;
+        readBatches(c::addAll);
+        if (journal != null) {
+            replayJournal(c);
+        }
+        return c;
     }
 
-    // EFFECTS: reads source file as string and returns it
-    private String readFile(String source) throws IOException {
-        StringBuilder contentBuilder = new StringBuilder();
+    // EFFECTS: returns the sequence number of the last journal record reflected in the calendar
+    //          returned by the last call to read, 0 if there was none
+    public long getLastSequence() {
+        return lastSequence;
+    }
 
-        try (Stream<String> stream = Files.lines(Paths.get(source), StandardCharsets.UTF_8)) {
-            stream.forEach(contentBuilder::append);
+    // EFFECTS: reads foods from file one at a time, passing each to consumer as soon as it is parsed;
+    // throws IOException if an error occurs reading data from file
+    public void readFoods(Consumer<Food> consumer) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(Paths.get(source), StandardCharsets.UTF_8)) {
+            parseCalendar(new JSONTokener(in), consumer);
+        } catch (JSONException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
         }
+    }
 
-        return contentBuilder.toString();
+    // EFFECTS: reads foods from file in batches of at most BATCH_SIZE, passing each batch to consumer
+    //          in file order as soon as it is parsed; consumer may keep the lists it is passed;
+    // throws IOException if an error occurs reading data from file
+    public void readBatches(Consumer<List<Food>> consumer) throws IOException {
+        if (parallel) {
+            readChunks(consumer);
+            return;
+        }
+        BatchLoader loader = new BatchLoader(consumer);
+        readFoods(loader);
+        loader.finish();
     }
 
-    // EFFECTS: parses calendar from JSON object and returns it
-    private model.Calendar parseCalendar(JSONObject jsonObject) {
-        model.Calendar c = new model.Calendar();
-        addFoods(c, jsonObject);
-        return c;
+    // EFFECTS: reads the whole file, splits its foods into batches of at most BATCH_SIZE and parses the
+    //          batches on the common fork/join pool, passing each to consumer in file order once it is parsed;
+    // throws IOException if an error occurs reading data from file
+    private void readChunks(Consumer<List<Food>> consumer) throws IOException {
+        String text = new String(Files.readAllBytes(Paths.get(source)), StandardCharsets.UTF_8);
+        FoodsSplitter splitter = new FoodsSplitter(text, BATCH_SIZE);
+        if (splitter.getSequence() != null) {
+            lastSequence = parseSequence(splitter.getSequence());
+        }
+        List<ForkJoinTask<List<Food>>> tasks = new ArrayList<>();
+        for (int[] chunk : splitter.getChunks()) {
+            tasks.add(ForkJoinPool.commonPool().submit(() -> parseChunk(text.substring(chunk[0], chunk[1]))));
+        }
+        try {
+            for (ForkJoinTask<List<Food>> task : tasks) {
+                consumer.accept(task.join());
+            }
+        } catch (RuntimeException e) {
+            tasks.forEach(task -> task.cancel(false));
+            throw e;
+        }
+    }
+
+    // EFFECTS: parses foods from chunk, food values separated by commas, and returns them in order
+    private static List<Food> parseChunk(String chunk) {
+        JSONTokener tokener = new JSONTokener(chunk);
+        List<Food> foods = new ArrayList<>(BATCH_SIZE);
+        char next = ',';
+        while (next == ',') {
+            Object json = tokener.nextValue();
+            if (!(json instanceof JSONObject)) {
+                throw tokener.syntaxError("Expected a food object");
+            }
+            foods.add(parseFood((JSONObject) json));
+            next = tokener.nextClean();
+        }
+        if (next != 0) {
+            throw tokener.syntaxError("Expected ',' or end of foods");
+        }
+        return foods;
+    }
+
+    // EFFECTS: parses calendar object from tokener, passing its foods to consumer;
+    //          values under any other key are skipped
+    private void parseCalendar(JSONTokener tokener, Consumer<Food> consumer) {
+        boolean foundFoods = false;
+        expect(tokener, '{');
+        char next = tokener.nextClean();
+        while (next != '}') {
+            tokener.back();
+            expect(tokener, '"');
+            String key = tokener.nextString('"');
+            expect(tokener, ':');
+            if (key.equals(FOODS_KEY)) {
+                addFoods(tokener, consumer);
+                foundFoods = true;
+            } else if (key.equals(JOURNAL_SEQUENCE_KEY)) {
+                lastSequence = parseSequence(tokener.nextValue());
+            } else {
+                tokener.nextValue();
+            }
+            next = nextSeparator(tokener, '}');
+        }
+        if (!foundFoods) {
+            throw new JSONException("JSONObject[\"" + FOODS_KEY + "\"] not found.");
+        }
+    }
+
+    // EFFECTS: parses foods array from tokener one food at a time and passes each to consumer
+    private void addFoods(JSONTokener tokener, Consumer<Food> consumer) {
+        expect(tokener, '[');
+        char next = tokener.nextClean();
+        while (next != ']') {
+            tokener.back();
+            Object json = tokener.nextValue();
+            if (!(json instanceof JSONObject)) {
+                throw tokener.syntaxError("Expected a food object");
+            }
+            consumer.accept(parseFood((JSONObject) json));
+            next = nextSeparator(tokener, ']');
+        }
     }
 
     // MODIFIES: c
-    // EFFECTS: parses foods from JSON object and adds them to calendar
-    private void addFoods(model.Calendar c, JSONObject jsonObject) {
-        JSONArray jsonArray = jsonObject.getJSONArray("foods");
-        for (Object json : jsonArray) {
-            JSONObject nextFood = (JSONObject) json;
-            addFood(c, nextFood);
+    // EFFECTS: applies the journal records newer than lastSequence to c, in order;
+    //          stops at a record that cannot be parsed, which is the tail of an interrupted append
+    private void replayJournal(model.Calendar c) throws IOException {
+        Path path = Paths.get(journal);
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (BufferedReader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                JSONObject record;
+                try {
+                    record = new JSONObject(line);
+                } catch (JSONException e) {
+                    return;
+                }
+                if (record.getLong(JournalWriter.SEQUENCE) > lastSequence) {
+                    applyRecord(c, record);
+                    lastSequence = record.getLong(JournalWriter.SEQUENCE);
+                }
+            }
         }
     }
 
     // MODIFIES: c
-    // EFFECTS: parses foods from JSON object and adds it to calendar
-    private void addFood(model.Calendar c, JSONObject jsonObject) {
+    // EFFECTS: applies the change recorded in a journal record to c
+    private void applyRecord(model.Calendar c, JSONObject record) {
+        switch (record.getString(JournalWriter.OPERATION)) {
+            case JournalWriter.ADD:
+                c.addFood(parseFood(record));
+                break;
+            case JournalWriter.REMOVE:
+                if (record.has("expiry_date")) {
+                    c.removeFood(parseFood(record));
+                } else {
+                    c.removeFood(record.getString("name"));
+                }
+                break;
+            case JournalWriter.CLEAR:
+                c.clearList();
+                break;
+            default:
+                throw new JSONException("Unknown journal operation: " + record.getString(JournalWriter.OPERATION));
+        }
+    }
+
+    // EFFECTS: parses food from JSON object and returns it
+    private static Food parseFood(JSONObject jsonObject) {
         String name = jsonObject.getString("name");
         String expiryDate = jsonObject.getString("expiry_date");
         String datePurchased = jsonObject.getString("date_purchased");
 
-        Food food = new Food(name, expiryDate, datePurchased);
-        c.addFood(food);
+        return new Food(name, expiryDate, datePurchased);
+    }
+
+    // EFFECTS: returns the journal sequence number written as value;
+    //          throws JSONException if value is not a whole number
+    private static long parseSequence(Object value) {
+        if (!(value instanceof Integer || value instanceof Long)) {
+            throw new JSONException("JSONObject[\"" + JOURNAL_SEQUENCE_KEY + "\"] is not a whole number.");
+        }
+        return ((Number) value).longValue();
+    }
+
+    // EFFECTS: reads the character after a value, which is either ',' or end;
+    //          throws JSONException if it is neither
+    private char nextSeparator(JSONTokener tokener, char end) {
+        char next = tokener.nextClean();
+        if (next != ',' && next != end) {
+            throw tokener.syntaxError("Expected ',' or '" + end + "'");
+        }
+        return next == ',' ? tokener.nextClean() : end;
+    }
+
+    // EFFECTS: reads the next non-whitespace character;
+    //          throws JSONException if it is not expected
+    private void expect(JSONTokener tokener, char expected) {
+        if (tokener.nextClean() != expected) {
+            throw tokener.syntaxError("Expected '" + expected + "'");
+        }
+    }
+
+    // Represents the batch of a read that has been parsed but not yet passed on
+    private static class BatchLoader implements Consumer<Food> {
+        private final Consumer<List<Food>> consumer;
+        private List<Food> batch = new ArrayList<>(BATCH_SIZE);
+
+        // EFFECTS: constructs loader passing full batches to consumer
+        BatchLoader(Consumer<List<Food>> consumer) {
+            this.consumer = consumer;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: adds food to the current batch, passing it on once it is full
+        @Override
+        public void accept(Food food) {
+            batch.add(food);
+            if (batch.size() == BATCH_SIZE) {
+                passOn();
+            }
+        }
+
+        // MODIFIES: this
+        // EFFECTS: passes on the last, partial batch, if any
+        void finish() {
+            if (!batch.isEmpty()) {
+                passOn();
+            }
+        }
+
+        // MODIFIES: this
+        // EFFECTS: passes the current batch on and begins a new one
+        private void passOn() {
+            consumer.accept(batch);
+            batch = new ArrayList<>(BATCH_SIZE);
+        }
     }
 }
@@ -1,48 +1,210 @@
 package persistence;
 
 import model.Calendar;
-import org.json.JSONObject;
+import model.CalendarSnapshot;
+import model.Food;
+import org.json.JSONException;
 
 
 import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
 
 // This class is modeled after JSONReader in the JsonSerializationDemo provided by
 // https://github.students.cs.ubc.ca/CPSC210/JsonSerializationDemo/blob/master/src/main/persistence/JsonWriter.java
 
 // Represents a writer that writes JSON representation of calendar to file
+// Foods are written one at a time straight to a buffered stream, so the whole
+// calendar is never held in memory as JSON
+// A durable writer writes to a sibling temporary file, forces it to disk and then
+// renames it over the destination, so a crash mid-save leaves the previous file intact
 public class JsonWriter {
     private static final int TAB = 4;
-    private PrintWriter writer;
+    private static final String TEMP_SUFFIX = ".tmp";
+    private Writer writer;
+    private FileOutputStream out;
     private final String destination;
+    private final boolean prettyPrint;
+    private final boolean durable;
+    private long openedAt;       // System.nanoTime() when writer was last opened
+    private long lastSaveNanos;  // time taken by the last completed save, from open to close
 
-    // EFFECTS: constructs writer to write to destination file
+    // EFFECTS: constructs writer to write indented JSON to destination file
     public JsonWriter(String destination) {
+        this(destination, true);
+    }
+
+    // EFFECTS: constructs writer to write to destination file,
+    //          indented if prettyPrint is true, on as few characters as possible otherwise
+    public JsonWriter(String destination, boolean prettyPrint) {
+        this(destination, prettyPrint, false);
+    }
+
+    // EFFECTS: constructs writer to write to destination file,
+    //          indented if prettyPrint is true, on as few characters as possible otherwise;
+    //          if durable is true, the destination is only replaced once the new data is on disk
+    public JsonWriter(String destination, boolean prettyPrint, boolean durable) {
         this.destination = destination;
+        this.prettyPrint = prettyPrint;
+        this.durable = durable;
     }
 
     // MODIFIES: this
     // EFFECTS: opens writer; throws FileNotFoundException if destination file cannot
     // be opened for writing
     public void open() throws FileNotFoundException {
-        writer = new PrintWriter(destination);
+        openedAt = System.nanoTime();
+        out = new FileOutputStream(durable ? destination + TEMP_SUFFIX : destination);
+        writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes JSON representation of calendar to file;
+    //          throws IOException if an error occurs writing to file
+    public void write(Calendar calendar) throws IOException {
+        write(calendar.snapshot());
     }
 
     // MODIFIES: this
-    // EFFECTS: writes JSON representation of calendar to file
-    public void write(Calendar calendar) {
-        JSONObject json = calendar.toJson();
-        saveToFile(json.toString(TAB));
+    // EFFECTS: writes JSON representation of snapshot to file; the snapshot may be taken on another thread
+    //          and the calendar changed while it is written;
+    //          throws IOException if an error occurs writing to file
+    public void write(CalendarSnapshot snapshot) throws IOException {
+        writer.write(prettyPrint ? "{\"foods\": [" : "{\"foods\":[");
+        writeFoods(snapshot);
     }
 
     // MODIFIES: this
-    // EFFECTS: closes writer
-    public void close() {
+    // EFFECTS: writes JSON representation of calendar to file, recording journalSequence as the
+    //          last journal record already reflected in calendar;
+    //          throws IOException if an error occurs writing to file
+    public void write(Calendar calendar, long journalSequence) throws IOException {
+        write(calendar.snapshot(), journalSequence);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes JSON representation of snapshot to file, recording journalSequence as the
+    //          last journal record already reflected in snapshot;
+    //          throws IOException if an error occurs writing to file
+    public void write(CalendarSnapshot snapshot, long journalSequence) throws IOException {
+        String separator = prettyPrint ? ": " : ":";
+        writer.write("{\"" + JsonReader.JOURNAL_SEQUENCE_KEY + "\"" + separator + journalSequence + ",");
+        writer.write(prettyPrint ? "\n\"foods\": [" : "\"foods\":[");
+        writeFoods(snapshot);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes foods of snapshot to file as the elements of the foods array and ends the calendar object
+    private void writeFoods(CalendarSnapshot snapshot) throws IOException {
+        boolean first = true;
+        for (Food f : snapshot.getFoods()) {
+            if (!first) {
+                writer.write(',');
+            }
+            saveToFile(f, snapshot.getStatusDate());
+            first = false;
+        }
+        writer.write(prettyPrint && !first ? "\n]}" : "]}");
+    }
+
+    // MODIFIES: this
+    // EFFECTS: closes writer, and if durable, forces the data to disk and moves it over the destination;
+    //          throws IOException if buffered data cannot be written to file, in which case a durable
+    //          writer is still closed and its temporary file deleted, leaving the destination as it was
+    public void close() throws IOException {
+        if (durable) {
+            try {
+                try {
+                    writer.flush();
+                    out.getChannel().force(true);
+                } finally {
+                    writer.close();
+                }
+                replaceDestination();
+            } catch (IOException e) {
+                deleteTempAfter(e);
+                throw e;
+            }
+        } else {
+            writer.close();
+        }
+        lastSaveNanos = System.nanoTime() - openedAt;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: abandons the save in progress, closing writer; if durable, deletes the temporary file so the
+    //          destination is left as it was; throws IOException if the file cannot be closed or deleted
+    public void discard() throws IOException {
         writer.close();
+        if (durable) {
+            Files.deleteIfExists(Paths.get(destination + TEMP_SUFFIX));
+        }
+    }
+
+    // EFFECTS: deletes the temporary file of a save that failed with cause,
+    //          recording any failure to do so as suppressed by cause
+    private void deleteTempAfter(IOException cause) {
+        try {
+            Files.deleteIfExists(Paths.get(destination + TEMP_SUFFIX));
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    // EFFECTS: returns true if the destination is only replaced once the new data is on disk
+    public boolean isDurable() {
+        return durable;
+    }
+
+    // EFFECTS: returns how long the last completed save took, from open to close, in nanoseconds
+    public long getLastSaveNanos() {
+        return lastSaveNanos;
+    }
+
+    // EFFECTS: renames the temporary file over the destination, atomically where the file system allows,
+    //          then forces the directory entry to disk where the platform supports it
+    private void replaceDestination() throws IOException {
+        Path target = Paths.get(destination);
+        Path temp = Paths.get(destination + TEMP_SUFFIX);
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        Path dir = target.toAbsolutePath().getParent();
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // some platforms (e.g. Windows) cannot open or sync a directory; the rename itself has succeeded
+        }
     }
 
     // MODIFIES: this
-    // EFFECTS: writes string to file
-    private void saveToFile(String json) {
-        writer.print(json);
+    // EFFECTS: writes JSON representation of food to file as an element of the foods array,
+    //          with its expiry status as of statusDate
+    private void saveToFile(Food food, LocalDate statusDate) throws IOException {
+        try {
+            if (prettyPrint) {
+                writer.write('\n');
+                for (int i = 0; i < TAB; i++) {
+                    writer.write(' ');
+                }
+                food.toJson(statusDate).write(writer, TAB, TAB);
+            } else {
+                food.toJson(statusDate).write(writer);
+            }
+        } catch (JSONException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
     }
 }
@@ -0,0 +1,123 @@
+package persistence;
+
+import model.Calendar;
+import model.Food;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.List;
+
+// Represents a reader that memory-maps a binary snapshot written by BinaryWriter and
+// decodes foods from it only when they are asked for, so the file's contents stay in
+// the operating system's page cache rather than on the heap
+public class MappedSnapshotReader {
+    private final String source;
+    private ByteBuffer buffer;      // the mapped file
+    private int[] nameOffsets;      // position of each name's length prefix in buffer
+    private String[] names;         // names decoded so far, null until first used
+    private int foodCount;
+    private int recordsStart;       // position of the first food record in buffer
+
+    // EFFECTS: constructs reader to read from source file
+    public MappedSnapshotReader(String source) {
+        this.source = source;
+    }
+
+    // REQUIRES: source file is smaller than 2 GB
+    // MODIFIES: this
+    // EFFECTS: maps source file into memory and locates its names and food records;
+    //          throws IOException if the file cannot be read or is not a complete binary snapshot
+    public void open() throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(source), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.limit() < BinaryWriter.HEADER_SIZE || buffer.getInt(0) != BinaryWriter.MAGIC) {
+            throw new IOException("Not a calendar snapshot: " + source);
+        }
+        if (buffer.getShort(4) != BinaryWriter.VERSION) {
+            throw new IOException("Unsupported calendar snapshot version " + buffer.getShort(4) + ": " + source);
+        }
+        nameOffsets = new int[buffer.getInt(6)];
+        names = new String[nameOffsets.length];
+        foodCount = buffer.getInt(10);
+        recordsStart = locateNames(BinaryWriter.HEADER_SIZE);
+        if ((long) recordsStart + (long) foodCount * BinaryWriter.RECORD_SIZE > buffer.limit()) {
+            throw new IOException("Truncated calendar snapshot: " + source);
+        }
+    }
+
+    // EFFECTS: returns the number of foods in the snapshot
+    public int size() {
+        return foodCount;
+    }
+
+    // REQUIRES: 0 <= index < size()
+    // EFFECTS: decodes and returns the food at index in the order added
+    public Food getFood(int index) {
+        int position = recordsStart + index * BinaryWriter.RECORD_SIZE;
+        String name = getName(buffer.getInt(position));
+        return Food.ofEpochDays(name, buffer.getInt(position + 4), buffer.getInt(position + 8));
+    }
+
+    // EFFECTS: returns a read-only list of the foods in the snapshot, each decoded when it is accessed
+    public List<Food> foods() {
+        return new AbstractList<Food>() {
+            @Override
+            public Food get(int index) {
+                if (index < 0 || index >= foodCount) {
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + foodCount);
+                }
+                return getFood(index);
+            }
+
+            @Override
+            public int size() {
+                return foodCount;
+            }
+        };
+    }
+
+    // EFFECTS: decodes every food in the snapshot into a new calendar and returns it
+    public Calendar read() {
+        model.Calendar c = new model.Calendar();
+        c.addAll(foods());
+        return c;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records the position of each name starting at position,
+    //          returns the position just past the last name;
+    //          throws IOException if the names run past the end of the file
+    private int locateNames(int position) throws IOException {
+        for (int i = 0; i < nameOffsets.length; i++) {
+            if (position + 2 > buffer.limit()) {
+                throw new IOException("Truncated calendar snapshot: " + source);
+            }
+            nameOffsets[i] = position;
+            position += 2 + Short.toUnsignedInt(buffer.getShort(position));
+        }
+        return position;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the name at index in the names, decoding it on first use
+    private String getName(int index) {
+        if (names[index] == null) {
+            int position = nameOffsets[index];
+            byte[] bytes = new byte[2 + Short.toUnsignedInt(buffer.getShort(position))];
+            buffer.duplicate().position(position).get(bytes);
+            try {
+                names[index] = new DataInputStream(new ByteArrayInputStream(bytes)).readUTF();
+            } catch (IOException e) {
+                throw new IllegalStateException("Malformed name in calendar snapshot: " + source, e);
+            }
+        }
+        return names[index];
+    }
+}
@@ -0,0 +1,29 @@
+package persistence;
+
+import model.Calendar;
+
+import java.io.IOException;
+
+// Converts calendar files between the JSON format and the binary snapshot format
+public class SnapshotConverter {
+
+    // EFFECTS: reads calendar from JSON file at source and writes it as a binary snapshot to destination;
+    //          throws IOException if either file cannot be read or written
+    public static void jsonToBinary(String source, String destination) throws IOException {
+        Calendar calendar = new JsonReader(source).read();
+        BinaryWriter writer = new BinaryWriter(destination);
+        writer.open();
+        writer.write(calendar);
+        writer.close();
+    }
+
+    // EFFECTS: reads calendar from binary snapshot at source and writes it as indented JSON to destination;
+    //          throws IOException if either file cannot be read or written
+    public static void binaryToJson(String source, String destination) throws IOException {
+        Calendar calendar = new BinaryReader(source).read();
+        JsonWriter writer = new JsonWriter(destination);
+        writer.open();
+        writer.write(calendar);
+        writer.close();
+    }
+}
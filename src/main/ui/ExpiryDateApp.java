@@ -4,7 +4,6 @@ import model.Food;
 import persistence.JsonReader;
 import persistence.JsonWriter;
 
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.Scanner;
 
@@ -16,6 +15,8 @@ import java.util.Scanner;
 // Application to track expiry dates
 public class ExpiryDateApp {
     private static final String JSON_STORE = "./data/food.json";
+    // parse saved foods on several threads only when there is more than one processor to run them
+    private static final boolean PARALLEL_LOAD = Runtime.getRuntime().availableProcessors() > 1;
     private model.Calendar calendar;
     private Scanner input;
     private JsonWriter jsonWriter;
@@ -208,8 +209,8 @@ public class ExpiryDateApp {
         calendar = new model.Calendar();
         input = new Scanner(System.in);
         input.useDelimiter("\n");
-        jsonWriter = new JsonWriter(JSON_STORE);
-        jsonReader = new JsonReader(JSON_STORE);
+        jsonWriter = new JsonWriter(JSON_STORE, true, true);
+        jsonReader = new JsonReader(JSON_STORE, null, PARALLEL_LOAD);
         isSaved = true;
     }
 
@@ -230,12 +231,7 @@ public class ExpiryDateApp {
     // EFFECTS: takes a name and returns a food object with the corresponding name
     //          returns null if given name does match food in list of calendar
     private Food lookupByName(String name) {
-        for (Food f: calendar.getFoodList()) {
-            if (f.getName().equals(name)) {
-                return f;
-            }
-        }
-        return null;
+        return calendar.findFood(name);
     }
 
     // EFFECTS: printed error message if named food is not found in the list
@@ -243,19 +239,34 @@ public class ExpiryDateApp {
         System.out.println("Could not find named food");
     }
 
-    // EFFECTS: saves the calendar to file
+    // EFFECTS: saves the calendar to file; abandons the save if it fails, leaving the file as it was
     private void saveCalendar() {
         try {
             jsonWriter.open();
-            jsonWriter.write(calendar);
-            jsonWriter.close();
-            System.out.println("Saved calendar to " + JSON_STORE);
+            try {
+                jsonWriter.write(calendar);
+                jsonWriter.close();
+            } catch (IOException | RuntimeException e) {
+                discardAfter(e);
+                throw e;
+            }
+            System.out.println("Saved calendar to " + JSON_STORE
+                    + " in " + jsonWriter.getLastSaveNanos() / 1_000_000 + " ms");
             isSaved = true;
-        } catch (FileNotFoundException e) {
+        } catch (IOException e) {
             System.out.println("Unable to write to file: " + JSON_STORE);
         }
     }
 
+    // EFFECTS: abandons the save that failed with cause, recording any failure to do so as suppressed by cause
+    private void discardAfter(Exception cause) {
+        try {
+            jsonWriter.discard();
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
     // MODIFIES: this
     // EFFECTS: loads calendar from file
     private void loadCalendar() {
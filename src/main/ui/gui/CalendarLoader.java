@@ -0,0 +1,78 @@
+package ui.gui;
+
+import model.Calendar;
+import model.Food;
+import persistence.JsonReader;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
+// Reads saved foods on a background thread and adds them to the calendar on the event-dispatching thread
+// a batch at a time, so the window can be used while a large calendar loads; the food list and calendar
+// display observe the calendar, so they show each batch as it is added
+// The calendar itself is only ever touched on the event-dispatching thread
+public class CalendarLoader extends SwingWorker<Integer, List<Food>> {
+    private final JsonReader reader;
+    private final Calendar calendar;
+    private final JProgressBar progressBar;
+    private final Runnable onLoaded;
+    private int loaded; // foods added to the calendar so far
+
+    // EFFECTS: creates a loader reading foods with reader into calendar, reporting how many have been loaded
+    //          on progressBar and running onLoaded once every food has been added
+    public CalendarLoader(JsonReader reader, Calendar calendar, JProgressBar progressBar, Runnable onLoaded) {
+        this.reader = reader;
+        this.calendar = calendar;
+        this.progressBar = progressBar;
+        this.onLoaded = onLoaded;
+    }
+
+    // EFFECTS: reads the foods, publishing them in batches; stops early if cancelled;
+    //          returns the number of foods read
+    @Override
+    protected Integer doInBackground() throws Exception {
+        int[] read = {0};
+        reader.readBatches(batch -> {
+            if (isCancelled()) {
+                throw new CancellationException();
+            }
+            read[0] += batch.size();
+            publish(batch);
+        });
+        return read[0];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the published batches to the calendar
+    @Override
+    protected void process(List<List<Food>> batches) {
+        if (isCancelled()) {
+            return;
+        }
+        List<Food> foods = new ArrayList<>();
+        for (List<Food> batch : batches) {
+            foods.addAll(batch);
+        }
+        calendar.addAll(foods);
+        loaded += foods.size();
+        progressBar.setString("Loaded " + loaded + " foods");
+    }
+
+    // EFFECTS: hides the progress bar, then runs onLoaded if every food was read, or beeps if they could not be
+    @Override
+    protected void done() {
+        progressBar.setVisible(false);
+        try {
+            get();
+            onLoaded.run();
+        } catch (CancellationException e) {
+            // closed while loading; nothing more to add
+        } catch (InterruptedException | ExecutionException e) {
+            Toolkit.getDefaultToolkit().beep();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package ui.gui;
+
+import model.CalendarSnapshot;
+import persistence.JsonWriter;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
+// Writes a snapshot of the calendar to file on a background thread, then runs a callback on the
+// event-dispatching thread; since the snapshot never changes, the calendar can be edited meanwhile
+// A cancelled save is abandoned before the destination is replaced, leaving the previous file intact
+public class CalendarSaver extends SwingWorker<Long, Void> {
+    private final JsonWriter writer;
+    private final CalendarSnapshot snapshot;
+    private final Runnable onSaved;
+
+    // REQUIRES: writer is durable, and only used by one save at a time
+    // EFFECTS: creates a saver writing snapshot with writer, running onSaved once it has been written
+    public CalendarSaver(JsonWriter writer, CalendarSnapshot snapshot, Runnable onSaved) {
+        this.writer = writer;
+        this.snapshot = snapshot;
+        this.onSaved = onSaved;
+    }
+
+    // EFFECTS: writes the snapshot, or abandons it if cancelled meanwhile;
+    //          if writing fails, abandons the save and rethrows, so no temporary file or open stream is left;
+    //          returns how long the save took in nanoseconds
+    @Override
+    protected Long doInBackground() throws Exception {
+        writer.open();
+        try {
+            writer.write(snapshot);
+            if (isCancelled()) {
+                writer.discard();
+                return null;
+            }
+            writer.close();
+        } catch (IOException | RuntimeException e) {
+            discardAfter(e);
+            throw e;
+        }
+        return writer.getLastSaveNanos();
+    }
+
+    // EFFECTS: abandons the save that failed with cause, recording any failure to do so as suppressed by cause
+    private void discardAfter(Exception cause) {
+        try {
+            writer.discard();
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    // EFFECTS: runs onSaved if the snapshot was written; beeps if it could not be
+    @Override
+    protected void done() {
+        try {
+            get();
+            onSaved.run();
+        } catch (CancellationException e) {
+            // abandoned on purpose; the previous file is left as it was
+        } catch (InterruptedException | ExecutionException e) {
+            Toolkit.getDefaultToolkit().beep();
+        }
+    }
+}
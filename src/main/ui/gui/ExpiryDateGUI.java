@@ -2,8 +2,11 @@ package ui.gui;
 
 import com.formdev.flatlaf.intellijthemes.materialthemeuilite.FlatMaterialLighterContrastIJTheme;
 import model.Calendar;
+import model.CalendarSnapshot;
 import model.Event;
 import model.EventLog;
+import model.ExpiryClock;
+import persistence.EventFileWriter;
 import persistence.JsonReader;
 import persistence.JsonWriter;
 
@@ -11,8 +14,9 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
-import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 // Open/close dialog is referenced from DialogDemo
 // from https://docs.oracle.com/javase/tutorial/uiswing/examples/components/index.html
@@ -24,32 +28,63 @@ public class ExpiryDateGUI {
     private static final String CLOSE_TITLE = "Save data";
     private static final String OPEN_MESSAGE = "Do you want to load saved data?";
     private static final String OPEN_TITLE = "Load data";
+    private static final String LOADING_CLOSE_MESSAGE = "Saved data is still loading and cannot be saved yet. "
+            + "Exit without saving?";
+    private static final int LOG_RETENTION = 10000; // most recent events kept in the event log
+    private static final String EVENT_LOG_STORE = "./data/events.log";
+    private static final long EVENT_LOG_FILE_BYTES = 1024 * 1024; // size at which the event log file rolls over
+    private static final int EVENT_LOG_FILES = 5;                  // rolled-over event log files kept
+    // parse saved foods on several threads only when there is more than one processor to run them
+    private static final boolean PARALLEL_LOAD = Runtime.getRuntime().availableProcessors() > 1;
+    private static final int AUTOSAVE_MILLIS = 60 * 1000; // how often changes are saved once data has loaded
 
     private static Calendar calendar;
-    private static final JsonWriter jsonWriter = new JsonWriter(JSON_STORE);
-    private static final JsonReader jsonReader = new JsonReader(JSON_STORE);
+    private static JProgressBar loadProgress;
+    private static CalendarDisplay calendarDisplay;
+    private static YearDisplay yearDisplay;
+    private static FoodList foodList;
+    private static CalendarLoader loader; // loads saved data in the background, null if not asked to
+    private static CalendarSaver saver;   // the last save started, null if none
+    private static long savedVersion = -1; // calendar version last written to file, -1 if none
+    // runs saves one at a time, off the event-dispatching thread
+    private static final ExecutorService saveExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "calendar-saver");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final JsonWriter jsonWriter = new JsonWriter(JSON_STORE, true, true);
+    private static final JsonReader jsonReader = new JsonReader(JSON_STORE, null, PARALLEL_LOAD);
 
     // MODIFIES: this
-    // EFFECTS: loads calendar from file
+    // EFFECTS: starts loading the saved foods into calendar in the background, showing progress meanwhile
     private static void loadCalendar() {
-        try {
-            calendar = jsonReader.read();
-        } catch (IOException e) {
-            Toolkit.getDefaultToolkit().beep();
-        }
+        loadProgress.setVisible(true);
+        loader = new CalendarLoader(jsonReader, calendar, loadProgress, ExpiryDateGUI::startAutosave);
+        loader.execute();
     }
 
     // MODIFIES: this
-    // EFFECTS: saves the calendar to file
-    private static void saveCalendar() {
-        try {
-            jsonWriter.open();
-            jsonWriter.write(calendar);
-            jsonWriter.close();
-            // isSaved = true;
-        } catch (FileNotFoundException e) {
-            Toolkit.getDefaultToolkit().beep();
-        }
+    // EFFECTS: saves the calendar as it is now to file in the background, after any save already started,
+    //          then runs onSaved on the event-dispatching thread
+    private static void saveCalendar(Runnable onSaved) {
+        CalendarSnapshot snapshot = calendar.snapshot();
+        saver = new CalendarSaver(jsonWriter, snapshot, () -> {
+            savedVersion = snapshot.getVersion();
+            onSaved.run();
+        });
+        saveExecutor.execute(saver);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: saves the calendar every AUTOSAVE_MILLIS if it has changed since it was last saved;
+    //          only started once saved data has been loaded, so the file is never replaced by a partial calendar
+    private static void startAutosave() {
+        Timer timer = new Timer(AUTOSAVE_MILLIS, e -> {
+            if ((saver == null || saver.isDone()) && calendar.getVersion() != savedVersion) {
+                saveCalendar(() -> { });
+            }
+        });
+        timer.start();
     }
 
     // MODIFIES: this
@@ -88,6 +123,9 @@ public class ExpiryDateGUI {
     // EFFECTS: handles action when user selects no option
     private static void handleNoOption(Boolean onClose) {
         if (onClose) {
+            if (saver != null) {
+                saver.cancel(true);
+            }
             displayLog();
             System.exit(0);
         }
@@ -96,9 +134,11 @@ public class ExpiryDateGUI {
     // EFFECTS: handles action when user selects yes option
     private static void handleYesOption(Boolean onClose) {
         if (onClose) {
-            saveCalendar();
-            displayLog();
-            System.exit(0);
+            saveCalendar(() -> {
+                displayLog();
+                System.exit(0);
+            });
+            return;
         }
         loadCalendar();
     }
@@ -163,25 +203,95 @@ public class ExpiryDateGUI {
         frame.setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
         frame.addWindowListener(new WindowAdapter() {
             public void windowClosing(WindowEvent we) {
-                openClose(frame, true);
+                if (loader != null && !loader.isDone()) {
+                    closeWhileLoading(frame);
+                } else {
+                    openClose(frame, true);
+                }
             }
         });
 
+        createContents(frame);
+
+        //Display the window, then offer to load saved data into it.
+        frame.pack();
+        frame.setVisible(true);
         openClose(frame, false);
 
-        //Create and set up the content pane.
+        scheduleDayRollover(frame);
+    }
+
+    // MODIFIES: this, frame
+    // EFFECTS: adds the month and year displays in tabs, the food list and a hidden load progress bar to frame
+    private static void createContents(JFrame frame) {
+        calendarDisplay = new CalendarDisplay(calendar);
+        yearDisplay = new YearDisplay(calendar);
+        JTabbedPane displays = new JTabbedPane();
+        displays.addTab("Month", calendarDisplay);
+        displays.addTab("Year", yearDisplay);
+
+        JPanel main = new JPanel();
+        main.setLayout(new BoxLayout(main, BoxLayout.X_AXIS));
+        main.add(displays);
+        foodList = new FoodList(calendar, frame);
+        main.add(foodList);
+
+        loadProgress = new JProgressBar();
+        loadProgress.setIndeterminate(true);
+        loadProgress.setStringPainted(true);
+        loadProgress.setString("Loading saved data");
+        loadProgress.setVisible(false);
+
         Container c = frame.getContentPane();
-        CalendarDisplay calendarDisplay = new CalendarDisplay(calendar);
-        c.setLayout(new BoxLayout(c, BoxLayout.X_AXIS));
+        c.add(main, BorderLayout.CENTER);
+        c.add(loadProgress, BorderLayout.SOUTH);
+    }
 
-        //Add elements
-        c.add(calendarDisplay);
-        c.add(new FoodList(calendar, frame, calendarDisplay));
+    // EFFECTS: asks whether to exit without saving, since saving a partly loaded calendar would lose data;
+    //          if so, stops loading and exits
+    private static void closeWhileLoading(JFrame frame) {
+        int value = JOptionPane.showConfirmDialog(frame, LOADING_CLOSE_MESSAGE, CLOSE_TITLE,
+                JOptionPane.YES_NO_OPTION);
+        if (value == JOptionPane.YES_OPTION) {
+            loader.cancel(true);
+            displayLog();
+            System.exit(0);
+        }
+    }
 
-        //Display the window.
-        frame.pack();
-        frame.setVisible(true);
+    // MODIFIES: frame, this
+    // EFFECTS: redraws the window just after each midnight, so expiry statuses, the month and year displays
+    //          and a filtered food list move on to the new date
+    private static void scheduleDayRollover(JFrame frame) {
+        Timer timer = new Timer(0, null);
+        timer.setRepeats(false);
+        timer.addActionListener(e -> {
+            calendar.refreshExpiryStatus();
+            calendarDisplay.updateCalendar();
+            yearDisplay.updateCalendar();
+            foodList.refresh();
+            frame.repaint();
+            timer.setInitialDelay(millisUntilNextDay());
+            timer.restart();
+        });
+        timer.setInitialDelay(millisUntilNextDay());
+        timer.start();
+    }
 
+    // EFFECTS: returns milliseconds until just after the current date ends, as a Timer delay
+    private static int millisUntilNextDay() {
+        return (int) Math.min(Integer.MAX_VALUE, ExpiryClock.getInstance().millisUntilNextDay() + 1000);
+    }
+
+    // EFFECTS: starts writing logged events to the event log file in the background
+    private static void startEventLogFile() {
+        EventFileWriter eventFileWriter = new EventFileWriter(EVENT_LOG_STORE, EVENT_LOG_FILE_BYTES, EVENT_LOG_FILES);
+        try {
+            eventFileWriter.start();
+            EventLog.getInstance().setSink(eventFileWriter);
+        } catch (IOException e) {
+            System.err.println("Unable to write to file: " + EVENT_LOG_STORE);
+        }
     }
 
     // MODIFIES: this
@@ -189,6 +299,8 @@ public class ExpiryDateGUI {
     public static void main(String[] args) {
         //setup L&F, for some reason Git doesn't recognize the library
         FlatMaterialLighterContrastIJTheme.setup();
+        EventLog.getInstance().setRetention(LOG_RETENTION);
+        startEventLogFile();
 
         //Schedule a job for the event-dispatching thread:
         //creating and showing this application's GUI.
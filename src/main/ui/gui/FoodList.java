@@ -45,7 +45,6 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.FocusEvent;
 import java.awt.event.FocusListener;
-import java.util.List;
 
 // Represents a GUI of an expiry date app, referenced from ListDemo and TextInputDemo
 // from https://docs.oracle.com/javase/tutorial/uiswing/examples/components/index.html
@@ -54,7 +53,9 @@ public class FoodList extends JPanel
         implements ListSelectionListener, ActionListener,
         FocusListener {
     private final JList<Food> list;
-    private final DefaultListModel<Food> listModel;
+    private final FoodListModel listModel;
+    // a row as wide as most, so the list sizes its rows once instead of measuring every food
+    private static final Food PROTOTYPE_FOOD = new Food("A food with quite a long name", "2000/01/01", "2000/01/01");
 
     private static final int GAP = 10;
     private static final String addString = "Add";
@@ -68,21 +69,19 @@ public class FoodList extends JPanel
 
     private final Calendar calendar;
     private final JFrame frame;
-    private final CalendarDisplay calDisplay;
 
     // MODIFIES: this
     // EFFECTS: creates GUI of food list
-    public FoodList(Calendar calendar, JFrame frame, CalendarDisplay calDisplay) {
+    public FoodList(Calendar calendar, JFrame frame) {
         super(new BorderLayout());
         this.calendar = calendar;
         this.frame = frame;
-        this.calDisplay = calDisplay;
 
-        listModel = new DefaultListModel<>();
-        addFoodsToList(calendar.getFoodList());
+        listModel = new FoodListModel(calendar);
 
         //Create the list and put it in a scroll pane.
         list = new JList<>(listModel);
+        list.setPrototypeCellValue(PROTOTYPE_FOOD);
         JScrollPane listScrollPane = initList();
 
         JPanel leftHalf = new JPanel() {
@@ -102,6 +101,13 @@ public class FoodList extends JPanel
         add(leftHalf);
     }
 
+    // MODIFIES: this
+    // EFFECTS: shows the foods in the current view as the calendar now holds them, e.g. after the date
+    //          changes, when a filter no longer shows the same foods
+    public void refresh() {
+        listModel.refresh();
+    }
+
     // MODIFIES: this
     // EFFECTS: initializes the display list
     private JScrollPane initList() {
@@ -112,15 +118,6 @@ public class FoodList extends JPanel
         return new JScrollPane(list);
     }
 
-    // MODIFIES: this
-    // EFFECTS: adds foods to list
-    private void addFoodsToList(List<Food> foods) {
-        for (Food f : foods) {
-            listModel.addElement(f);
-        }
-        calDisplay.updateCalendar(calendar);
-    }
-
     // MODIFIES: this
     // EFFECTS: creates buttons and adds them
     protected JComponent createButtons() {
@@ -270,9 +267,7 @@ public class FoodList extends JPanel
             //so go ahead and remove whatever's selected.
             int index = list.getSelectedIndex();
             Food selected = list.getSelectedValue();
-            listModel.remove(index);
-            calendar.removeFood(selected.getName());
-            calDisplay.updateCalendar(calendar);
+            calendar.removeFood(selected); // removes the selected food itself, not an equal one
 
             int size = listModel.getSize();
 
@@ -306,16 +301,15 @@ public class FoodList extends JPanel
                     null,
                     null);
 
+            list.clearSelection();
             //If a string was returned, say so.
             if ((s != null) && (s.length() > 0) && s.matches("^[0-9]*$")) {
-                listModel.removeAllElements();
-                addFoodsToList(calendar.getFoodListExpiresInDays(Integer.parseInt(s)));
+                listModel.showExpiringWithin(Integer.parseInt(s));
                 return;
             }
 
             //If you're here, the return value was null/empty/not a number.
-            listModel.removeAllElements();
-            addFoodsToList(calendar.getFoodList());
+            listModel.showAll();
         }
     }
 
@@ -346,17 +340,8 @@ public class FoodList extends JPanel
                 return;
             }
 
-            int index = list.getSelectedIndex(); //get selected index
-            if (index == -1) { //no selection, so insert at beginning
-                index = 0;
-            } else {           //add after the selected item
-                index++;
-            }
-
-
-            listModel.addElement(food);
             calendar.addFood(food);
-            calDisplay.updateCalendar(calendar);
+            int index = listModel.lastIndexOf(food); //-1 if the list is filtered and food is not shown
 
             //Reset the text field.
             foodNameField.requestFocusInWindow();
@@ -373,7 +358,7 @@ public class FoodList extends JPanel
 
         //EFFECTS: checks if item is already in list
         protected boolean alreadyInList(String name) {
-            return listModel.contains(name);
+            return calendar.findFood(name) != null;
         }
 
         //Required by DocumentListener.
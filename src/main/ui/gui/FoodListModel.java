@@ -0,0 +1,139 @@
+package ui.gui;
+
+import model.Calendar;
+import model.CalendarObserver;
+import model.Food;
+
+import javax.swing.*;
+import java.util.List;
+
+// A list model showing the foods in a calendar, either all of them or those expiring within some number of days
+// Rows are read straight from the calendar by position, or from the range of its expiry index for a filter,
+// so nothing is copied per row; each change to the calendar or the filter fires at most two events
+// A filter counts days from today, so it has to be reapplied when the date changes
+// Registered as an observer of the calendar, so it stays up to date however the calendar is changed
+public class FoodListModel extends AbstractListModel<Food> implements CalendarObserver {
+    private static final long serialVersionUID = 1L;
+    private static final int ALL = -1; // filterDays when every food is shown
+
+    private final Calendar calendar;
+    private List<Food> filtered; // the last filtered result, or null when showing all
+    private int filterDays;      // foods expiring within this many days are shown, or ALL
+    private int shownSize;       // number of rows as of the last event fired; the calendar may already differ
+
+    // MODIFIES: calendar
+    // EFFECTS: creates a model showing every food in calendar, kept up to date as calendar changes
+    public FoodListModel(Calendar calendar) {
+        this.calendar = calendar;
+        this.filterDays = ALL;
+        this.shownSize = calendar.size();
+        calendar.addObserver(this);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: shows every food in the calendar, in the order added
+    public void showAll() {
+        filterDays = ALL;
+        filtered = null;
+        resize(calendar.size());
+    }
+
+    // REQUIRES: days >= 0
+    // MODIFIES: this
+    // EFFECTS: shows the foods expiring within days that are not yet expired, sorted by expiry date
+    public void showExpiringWithin(int days) {
+        filterDays = days;
+        filtered = calendar.getFoodListExpiresInDays(days);
+        resize(filtered.size());
+    }
+
+    // EFFECTS: returns the index of the last row showing food (the same object), or -1 if there is none
+    public int lastIndexOf(Food food) {
+        for (int i = shownSize - 1; i >= 0; i--) {
+            if (getElementAt(i) == food) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int getSize() {
+        return shownSize;
+    }
+
+    @Override
+    public Food getElementAt(int index) {
+        return filtered == null ? calendar.getFood(index) : filtered.get(index);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: shows the new row if every food is shown, otherwise reapplies the filter
+    @Override
+    public void foodAdded(Food food) {
+        foodsAdded(List.of(food));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: shows the new rows if every food is shown, otherwise reapplies the filter
+    @Override
+    public void foodsAdded(List<Food> added) {
+        if (filterDays == ALL) {
+            int oldSize = shownSize;
+            shownSize = calendar.size();
+            fireIntervalAdded(this, oldSize, shownSize - 1);
+        } else {
+            showExpiringWithin(filterDays);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reapplies the current view
+    @Override
+    public void foodRemoved(Food food) {
+        refresh();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reapplies the current view
+    @Override
+    public void foodsRemoved(List<Food> removed) {
+        refresh();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reapplies the current view
+    @Override
+    public void listCleared() {
+        refresh();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: shows the foods in the current view as the calendar now holds them, reapplying the filter
+    //          from today's date
+    public void refresh() {
+        if (filterDays == ALL) {
+            showAll();
+        } else {
+            showExpiringWithin(filterDays);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: shows newSize rows in place of the current ones, firing a removed or added event for the rows
+    //          past the end of the shorter list, so selections there are dropped, then one changed event
+    //          for the rows both lists have
+    private void resize(int newSize) {
+        int oldSize = shownSize;
+        shownSize = newSize;
+        if (shownSize < oldSize) {
+            fireIntervalRemoved(this, shownSize, oldSize - 1);
+        } else if (shownSize > oldSize) {
+            fireIntervalAdded(this, oldSize, shownSize - 1);
+        }
+        int overlap = Math.min(oldSize, shownSize);
+        if (overlap > 0) {
+            fireContentsChanged(this, 0, overlap - 1);
+        }
+    }
+}
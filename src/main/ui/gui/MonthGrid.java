@@ -0,0 +1,153 @@
+package ui.gui;
+
+import javax.swing.*;
+import java.awt.*;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+
+// A month drawn as a grid of days in a single component, Sunday first, under a row of day names
+// Each day is coloured by how soon the food expiring on it expires and labelled with how many foods that is
+// Fonts and colours are worked out once, and a change to one day only repaints that day's cell
+public class MonthGrid extends JComponent {
+    private static final long serialVersionUID = 1L;
+
+    private static final int ROWS = 6; // most weeks a month can touch
+    private static final int COLS = 7; // amount of days in a week
+    private static final int GAP = 2;  // space between cells
+    private static final int PAD = 4;  // space between a cell's edge and its text
+    private static final int CELL_WIDTH = 56;  // width of a cell at the preferred size
+    private static final int CELL_HEIGHT = 40; // height of a cell at the preferred size
+    private static final String[] DAY_NAMES = {"Sun", "Mon", "Tue", "Wed", "Thu", "Fri", "Sat"};
+
+    private static final Color NORMAL_COLOR = new Color(230, 230, 230); // color of cell that has a date
+    private static final Color TODAY_COLOR = new Color(92, 231, 255);   // color of cell that is current day
+    private static final Color EXPIRED_COLOR = new Color(255, 205, 210); // color of past day with food on it
+    private static final int SOON_DAYS = 30; // days ahead at which the expires-soon colours stop changing
+    private static final Color[] SOON_COLORS = soonColors(); // expires-soon colour, indexed by days after today
+
+    private final Font dayFont;
+    private final Font countFont;
+    private YearMonth month;
+    private LocalDate today;
+    private int[] counts; // foods expiring on each day of month, indexed by day of month - 1
+    private int offset;   // how many cells to offset the first day of the month
+
+    // EFFECTS: creates an empty grid, using the look and feel's label font
+    public MonthGrid() {
+        Font base = UIManager.getFont("Label.font");
+        if (base == null) {
+            base = new Font(Font.DIALOG, Font.PLAIN, 12);
+        }
+        dayFont = base.deriveFont(Font.BOLD);
+        countFont = base.deriveFont(base.getSize2D() - 2);
+        setOpaque(true);
+    }
+
+    // REQUIRES: counts.length == month.lengthOfMonth()
+    // MODIFIES: this
+    // EFFECTS: shows month as of today, with counts[d - 1] foods expiring on day d;
+    //          counts is shared, so call dayChanged after changing one of its elements
+    public void setMonth(YearMonth month, LocalDate today, int[] counts) {
+        this.month = month;
+        this.today = today;
+        this.counts = counts;
+        offset = month.atDay(1).getDayOfWeek().getValue() % COLS;
+        repaint();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: repaints the cell of day, whose count has changed
+    public void dayChanged(int day) {
+        repaint(cellBounds(day + offset - 1));
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        Rectangle clip = g2.getClipBounds();
+        g2.setColor(Color.white);
+        g2.fill(clip == null ? new Rectangle(getSize()) : clip);
+        if (month != null) {
+            paintDayNames(g2);
+            for (int p = 0; p < ROWS * COLS; p++) {
+                Rectangle cell = cellBounds(p);
+                if (clip == null || clip.intersects(cell)) {
+                    paintCell(g2, p, cell);
+                }
+            }
+        }
+        g2.dispose();
+    }
+
+    // MODIFIES: g
+    // EFFECTS: paints the names of the days above their columns
+    private void paintDayNames(Graphics2D g) {
+        g.setFont(dayFont);
+        g.setColor(Color.darkGray);
+        int ascent = g.getFontMetrics().getAscent();
+        for (int col = 0; col < COLS; col++) {
+            g.drawString(DAY_NAMES[col], cellBounds(col).x + PAD, ascent);
+        }
+    }
+
+    // MODIFIES: g
+    // EFFECTS: paints cell p, whose bounds are cell: blank if it is not a day of the month, otherwise
+    //          coloured and labelled with its day and how many foods expire on it
+    private void paintCell(Graphics2D g, int p, Rectangle cell) {
+        int day = p - offset + 1;
+        if (day < 1 || day > month.lengthOfMonth()) {
+            return;
+        }
+        g.setColor(colorOf(day));
+        g.fill(cell);
+        g.setColor(Color.black);
+        g.setFont(dayFont);
+        g.drawString(Integer.toString(day), cell.x + PAD, cell.y + PAD + g.getFontMetrics().getAscent());
+        int count = counts[day - 1];
+        if (count > 0) {
+            g.setFont(countFont);
+            g.drawString(count + (count == 1 ? " item" : " items"), cell.x + PAD, cell.y + cell.height - PAD);
+        }
+    }
+
+    // EFFECTS: returns the colour of day: today's colour, or if food expires on it, a colour for how soon
+    //          (or that it has passed), otherwise the normal colour
+    private Color colorOf(int day) {
+        LocalDate date = month.atDay(day);
+        if (date.equals(today)) {
+            return TODAY_COLOR;
+        } else if (counts[day - 1] == 0) {
+            return NORMAL_COLOR;
+        }
+        long daysAhead = ChronoUnit.DAYS.between(today, date);
+        return daysAhead < 0 ? EXPIRED_COLOR : SOON_COLORS[(int) Math.min(daysAhead, SOON_DAYS)];
+    }
+
+    // EFFECTS: returns a size at which every cell is CELL_WIDTH by CELL_HEIGHT, below the day names
+    @Override
+    public Dimension getPreferredSize() {
+        return new Dimension(COLS * (CELL_WIDTH + GAP) - GAP,
+                getFontMetrics(dayFont).getHeight() + ROWS * (CELL_HEIGHT + GAP) - GAP);
+    }
+
+    // EFFECTS: returns the bounds of cell p, counting along each week from the top left
+    private Rectangle cellBounds(int p) {
+        int top = getFontMetrics(dayFont).getHeight() + GAP;
+        int width = (getWidth() - GAP * (COLS - 1)) / COLS;
+        int height = (getHeight() - top - GAP * (ROWS - 1)) / ROWS;
+        return new Rectangle(p % COLS * (width + GAP), top + p / COLS * (height + GAP), width, height);
+    }
+
+    // EFFECTS: returns the expires-soon colour for each number of days after today up to SOON_DAYS
+    private static Color[] soonColors() {
+        Color[] colors = new Color[SOON_DAYS + 1];
+        for (int daysAhead = 0; daysAhead <= SOON_DAYS; daysAhead++) {
+            // Approximately 30 days in a month, MAX hue of 75/360
+            float expiresHowSoonScale = daysAhead / 30F * (75F / 360);
+            colors[daysAhead] = new Color(Color.HSBtoRGB(expiresHowSoonScale, 0.75F, 1F));
+        }
+        return colors;
+    }
+}
@@ -0,0 +1,127 @@
+package ui.gui;
+
+import model.Calendar;
+import model.CalendarObserver;
+import model.ExpiryClock;
+import model.Food;
+
+import javax.swing.*;
+import java.awt.*;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+// A visual representation of calendar data over one period of type P at a time (a month, a year, ...),
+// drawn by a view of type V, with buttons to move between periods
+// Observes the calendar and keeps a count of the foods expiring on each day of the period shown, so a change
+// only repaints the day it affects; showing a period reads its counts from the calendar's expiry index
+// Subclasses say what a period is and how the view draws it, and must not rely on fields of their own
+// in those methods, since they are first called while this class is being constructed
+public abstract class PeriodDisplay<P, V extends JComponent> extends JPanel implements CalendarObserver {
+    private static final long serialVersionUID = 1L;
+
+    protected final V view;
+    private final Calendar calendar;
+    private final JLabel title = new JLabel("", SwingConstants.CENTER);
+    private LocalDate now;  // current date as of the last update, from ExpiryClock
+    private P period;       // period shown
+    private int[] counts;   // foods expiring on each day of period, indexed by days after its first day
+
+    // MODIFIES: this, calendar
+    // EFFECTS: creates a display drawing the current period with view, kept up to date as calendar changes
+    protected PeriodDisplay(Calendar calendar, V view) {
+        super(new BorderLayout());
+        this.calendar = calendar;
+        this.view = view;
+        add(createHeader(), BorderLayout.NORTH);
+        add(view, BorderLayout.CENTER);
+        updateCalendar();
+        calendar.addObserver(this);
+    }
+
+    // EFFECTS: returns the period containing date
+    protected abstract P periodOf(LocalDate date);
+
+    // EFFECTS: returns the period the given number of periods after period (before it if negative)
+    protected abstract P plus(P period, int periods);
+
+    // EFFECTS: returns the first day of period
+    protected abstract LocalDate firstDay(P period);
+
+    // EFFECTS: returns the last day of period
+    protected abstract LocalDate lastDay(P period);
+
+    // EFFECTS: returns the title shown above period
+    protected abstract String titleOf(P period);
+
+    // MODIFIES: this
+    // EFFECTS: has view draw period as of today, with counts[i] foods expiring i days after its first day;
+    //          counts is shared with this display
+    protected abstract void draw(P period, LocalDate today, int[] counts);
+
+    // MODIFIES: this
+    // EFFECTS: has view repaint the day i days after the first day of the period shown, whose count has changed
+    protected abstract void dayChanged(int i);
+
+    // EFFECTS: returns a header with the period's title between buttons to show the previous and next periods
+    private JComponent createHeader() {
+        JButton previous = new JButton("<");
+        previous.addActionListener(e -> showPeriod(plus(period, -1)));
+        JButton next = new JButton(">");
+        next.addActionListener(e -> showPeriod(plus(period, 1)));
+
+        JPanel header = new JPanel(new BorderLayout());
+        header.add(previous, BorderLayout.WEST);
+        header.add(title, BorderLayout.CENTER);
+        header.add(next, BorderLayout.EAST);
+        return header;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: recounts and redraws the period shown; moves to the current period if the date has changed
+    //          since the last update
+    public void updateCalendar() {
+        LocalDate today = ExpiryClock.getInstance().today();
+        if (!today.equals(now)) {
+            now = today;
+            period = periodOf(now);
+        }
+        showPeriod(period);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: shows shown, with the number of foods expiring on each of its days
+    public void showPeriod(P shown) {
+        period = shown;
+        title.setText(titleOf(period));
+        counts = calendar.countExpiringPerDay(firstDay(period), lastDay(period));
+        draw(period, now, counts);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: counts food as added to (delta 1) or removed from (delta -1) the calendar,
+    //          repainting its expiry day if it is in the period shown
+    private void countFood(Food food, int delta) {
+        long i = ChronoUnit.DAYS.between(firstDay(period), food.getExpiryDate());
+        if (i >= 0 && i < counts.length) {
+            counts[(int) i] += delta;
+            dayChanged((int) i);
+        }
+    }
+
+    @Override
+    public void foodAdded(Food food) {
+        countFood(food, 1);
+    }
+
+    @Override
+    public void foodRemoved(Food food) {
+        countFood(food, -1);
+    }
+
+    @Override
+    public void listCleared() {
+        Arrays.fill(counts, 0);
+        view.repaint();
+    }
+}
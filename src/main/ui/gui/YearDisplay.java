@@ -0,0 +1,52 @@
+package ui.gui;
+
+import model.Calendar;
+
+import java.time.LocalDate;
+import java.time.Year;
+
+// A year-at-a-glance heatmap of how many foods expire on each day, with buttons to move between years
+public class YearDisplay extends PeriodDisplay<Year, YearHeatmap> {
+    private static final long serialVersionUID = 1L;
+
+    // MODIFIES: this, calendar
+    // EFFECTS: creates a YearDisplay showing the current year, kept up to date as calendar changes
+    public YearDisplay(Calendar calendar) {
+        super(calendar, new YearHeatmap());
+    }
+
+    @Override
+    protected Year periodOf(LocalDate date) {
+        return Year.from(date);
+    }
+
+    @Override
+    protected Year plus(Year year, int years) {
+        return year.plusYears(years);
+    }
+
+    @Override
+    protected LocalDate firstDay(Year year) {
+        return year.atDay(1);
+    }
+
+    @Override
+    protected LocalDate lastDay(Year year) {
+        return year.atDay(year.length());
+    }
+
+    @Override
+    protected String titleOf(Year year) {
+        return Integer.toString(year.getValue());
+    }
+
+    @Override
+    protected void draw(Year year, LocalDate today, int[] counts) {
+        view.setYear(year, today, counts);
+    }
+
+    @Override
+    protected void dayChanged(int i) {
+        view.dayChanged(i + 1);
+    }
+}
@@ -0,0 +1,160 @@
+package ui.gui;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseEvent;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.format.TextStyle;
+import java.util.Locale;
+
+// A year drawn as a heatmap in a single component: one column per week, Sunday at the top, each day
+// shaded by how many foods expire on it, so busy days stand out across the whole year
+// Shades are fixed per count band rather than scaled to the busiest day, so a change to one day only
+// repaints that day's cell; hovering over a day shows its date and count
+public class YearHeatmap extends JComponent {
+    private static final long serialVersionUID = 1L;
+
+    private static final int ROWS = 7;  // days in a week
+    private static final int COLS = 54; // most weeks a year can touch
+    private static final int GAP = 1;   // space between cells
+    private static final int LEFT = 28; // space for day names
+    private static final int MIN_CELL = 10; // width and height of a cell at the preferred size
+    private static final String[] DAY_NAMES = {"", "Mon", "", "Wed", "", "Fri", ""};
+
+    private static final Color EMPTY_COLOR = new Color(230, 230, 230); // color of day with no food on it
+    // color of day with food on it, indexed by count band: 1, 2-3, 4-7, 8-15, 16 or more
+    private static final Color[] BAND_COLORS = {
+            new Color(255, 224, 178), new Color(255, 183, 77), new Color(251, 140, 0),
+            new Color(230, 81, 0), new Color(183, 28, 28)
+    };
+    private static final Color TODAY_COLOR = new Color(92, 231, 255); // outline of current day
+
+    private final Font labelFont;
+    private Year year;
+    private LocalDate today;
+    private int[] counts; // foods expiring on each day of year, indexed by day of year - 1
+    private int offset;   // how many cells to offset the first day of the year
+
+    // EFFECTS: creates an empty heatmap, using the look and feel's label font
+    public YearHeatmap() {
+        Font base = UIManager.getFont("Label.font");
+        if (base == null) {
+            base = new Font(Font.DIALOG, Font.PLAIN, 12);
+        }
+        labelFont = base.deriveFont(base.getSize2D() - 2);
+        setOpaque(true);
+        setToolTipText("");
+    }
+
+    // REQUIRES: counts.length == year.length()
+    // MODIFIES: this
+    // EFFECTS: shows year as of today, with counts[d - 1] foods expiring on day of year d;
+    //          counts is shared, so call dayChanged after changing one of its elements
+    public void setYear(Year year, LocalDate today, int[] counts) {
+        this.year = year;
+        this.today = today;
+        this.counts = counts;
+        offset = year.atDay(1).getDayOfWeek().getValue() % ROWS;
+        repaint();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: repaints the cell of dayOfYear, whose count has changed
+    public void dayChanged(int dayOfYear) {
+        Rectangle cell = cellBounds(dayOfYear);
+        repaint(cell.x - 1, cell.y - 1, cell.width + 2, cell.height + 2);
+    }
+
+    // EFFECTS: returns the date and count of the day under the mouse, or null if there is none
+    @Override
+    public String getToolTipText(MouseEvent e) {
+        if (year == null || e.getX() < LEFT || e.getY() < top()) {
+            return null;
+        }
+        int step = cellSize() + GAP;
+        int d = (e.getX() - LEFT) / step * ROWS + Math.min((e.getY() - top()) / step, ROWS - 1) - offset + 1;
+        if (d < 1 || d > year.length() || !cellBounds(d).contains(e.getPoint())) {
+            return null;
+        }
+        int count = counts[d - 1];
+        return year.atDay(d) + ": " + count + (count == 1 ? " item" : " items");
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        Rectangle clip = g2.getClipBounds();
+        g2.setColor(Color.white);
+        g2.fill(clip == null ? new Rectangle(getSize()) : clip);
+        if (year != null) {
+            paintLabels(g2);
+            for (int d = 1; d <= year.length(); d++) {
+                Rectangle cell = cellBounds(d);
+                if (clip == null || clip.intersects(cell.x - 1, cell.y - 1, cell.width + 2, cell.height + 2)) {
+                    paintCell(g2, d, cell);
+                }
+            }
+        }
+        g2.dispose();
+    }
+
+    // MODIFIES: g
+    // EFFECTS: paints the names of every other day beside their rows, and of each month above its first week
+    private void paintLabels(Graphics2D g) {
+        g.setFont(labelFont);
+        g.setColor(Color.darkGray);
+        FontMetrics metrics = g.getFontMetrics();
+        for (int row = 0; row < ROWS; row++) {
+            Rectangle cell = cellBounds(row - offset + 1);
+            g.drawString(DAY_NAMES[row], 0, cell.y + cell.height);
+        }
+        for (int month = 1; month <= 12; month++) {
+            Rectangle cell = cellBounds(year.atMonth(month).atDay(1).getDayOfYear());
+            String name = year.atMonth(month).getMonth().getDisplayName(TextStyle.SHORT, Locale.ENGLISH);
+            g.drawString(name, cell.x, top() - GAP - metrics.getDescent());
+        }
+    }
+
+    // MODIFIES: g
+    // EFFECTS: paints the cell of dayOfYear, whose bounds are cell, shaded by its count and outlined if today
+    private void paintCell(Graphics2D g, int dayOfYear, Rectangle cell) {
+        int count = counts[dayOfYear - 1];
+        g.setColor(count == 0 ? EMPTY_COLOR : BAND_COLORS[Math.min(band(count), BAND_COLORS.length - 1)]);
+        g.fill(cell);
+        if (year.atDay(dayOfYear).equals(today)) {
+            g.setColor(TODAY_COLOR);
+            g.drawRect(cell.x - 1, cell.y - 1, cell.width + 1, cell.height + 1);
+        }
+    }
+
+    // REQUIRES: count > 0
+    // EFFECTS: returns the count band of count: 0 for 1, 1 for 2-3, 2 for 4-7 and so on
+    private static int band(int count) {
+        return 31 - Integer.numberOfLeadingZeros(count);
+    }
+
+    // EFFECTS: returns a size at which every week fits with cells MIN_CELL wide, so each day can be told apart
+    @Override
+    public Dimension getPreferredSize() {
+        return new Dimension(LEFT + COLS * (MIN_CELL + GAP), top() + ROWS * (MIN_CELL + GAP));
+    }
+
+    // EFFECTS: returns the top of the first row, below the month names
+    private int top() {
+        return getFontMetrics(labelFont).getHeight() + GAP;
+    }
+
+    // EFFECTS: returns the width and height of each cell: as large as lets every week fit the component
+    private int cellSize() {
+        return Math.max(1, Math.min((getWidth() - LEFT) / COLS, (getHeight() - top()) / ROWS) - GAP);
+    }
+
+    // EFFECTS: returns the bounds of the cell of dayOfYear, which may be outside the year for row labels
+    private Rectangle cellBounds(int dayOfYear) {
+        int p = dayOfYear - 1 + offset;
+        int size = cellSize();
+        return new Rectangle(LEFT + p / ROWS * (size + GAP), top() + p % ROWS * (size + GAP), size, size);
+    }
+}
@@ -0,0 +1,140 @@
+package model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CalendarSnapshotTest {
+    Calendar calendar;
+    Food A = new Food("A", "2000/01/01","2005/05/05");
+    Food B = new Food("B", "2030/02/03","2025/02/05");
+    Food C = new Food("C", "2050/10/15","2050/01/25");
+
+    @BeforeEach
+    void runBefore() {
+        calendar = new Calendar();
+    }
+
+    @AfterEach
+    void runAfter() {
+        ExpiryClock.getInstance().setClock(Clock.system(Food.TIME_ZONE));
+    }
+
+    @Test
+    void testEmptySnapshot() {
+        CalendarSnapshot snapshot = calendar.snapshot();
+        assertEquals(0, snapshot.size());
+        assertTrue(snapshot.getFoods().isEmpty());
+        assertEquals(ExpiryClock.getInstance().today(), snapshot.getStatusDate());
+    }
+
+    @Test
+    void testSnapshotReusedUntilChanged() {
+        calendar.addFood(A);
+        CalendarSnapshot first = calendar.snapshot();
+        assertSame(first, calendar.snapshot());
+        calendar.addFood(B);
+        CalendarSnapshot second = calendar.snapshot();
+        assertNotSame(first, second);
+        assertTrue(second.getVersion() > first.getVersion());
+    }
+
+    @Test
+    void testGetVersion() {
+        long empty = calendar.getVersion();
+        assertEquals(empty, calendar.snapshot().getVersion());
+        calendar.addFood(A);
+        assertTrue(calendar.getVersion() > empty);
+        assertEquals(calendar.getVersion(), calendar.snapshot().getVersion());
+        assertEquals(calendar.getVersion(), calendar.getVersion());
+    }
+
+    @Test
+    void testSnapshotUnaffectedByAdd() {
+        calendar.addFood(A);
+        CalendarSnapshot snapshot = calendar.snapshot();
+        for (int i = 0; i < 100; i++) {
+            calendar.addFood(B);
+        }
+        assertEquals(List.of(A), snapshot.getFoods());
+        assertEquals(101, calendar.snapshot().size());
+    }
+
+    @Test
+    void testSnapshotUnaffectedByRemove() {
+        calendar.addFood(A);
+        calendar.addFood(B);
+        calendar.addFood(C);
+        CalendarSnapshot snapshot = calendar.snapshot();
+        assertTrue(calendar.removeFood("A"));
+        assertTrue(calendar.removeFood("C"));
+        assertEquals(List.of(A, B, C), snapshot.getFoods());
+        assertEquals(List.of(B), calendar.getFoodList());
+        calendar.addFood(C);
+        assertEquals(List.of(A, B, C), snapshot.getFoods());
+        assertEquals(List.of(B, C), calendar.snapshot().getFoods());
+    }
+
+    @Test
+    void testSnapshotUnaffectedByClear() {
+        calendar.addFood(A);
+        calendar.addFood(B);
+        CalendarSnapshot snapshot = calendar.snapshot();
+        calendar.clearList();
+        calendar.addFood(C);
+        assertEquals(List.of(A, B), snapshot.getFoods());
+        assertEquals(List.of(C), calendar.snapshot().getFoods());
+    }
+
+    @Test
+    void testSnapshotReadOnly() {
+        calendar.addFood(A);
+        List<Food> foods = calendar.snapshot().getFoods();
+        assertThrows(UnsupportedOperationException.class, () -> foods.add(B));
+        assertThrows(UnsupportedOperationException.class, () -> foods.set(0, B));
+    }
+
+    @Test
+    void testNewSnapshotAfterDateChange() {
+        ExpiryClock.getInstance().setClock(Clock.fixed(LocalDate.of(2030, 2, 1).atTime(12, 0)
+                .atZone(Food.TIME_ZONE).toInstant(), Food.TIME_ZONE));
+        calendar.addFood(B);
+        CalendarSnapshot before = calendar.snapshot();
+        ExpiryClock.getInstance().setClock(Clock.fixed(LocalDate.of(2030, 2, 3).atTime(12, 0)
+                .atZone(Food.TIME_ZONE).toInstant(), Food.TIME_ZONE));
+        CalendarSnapshot after = calendar.snapshot();
+        assertNotSame(before, after);
+        assertEquals(LocalDate.of(2030, 2, 3), after.getStatusDate());
+        assertTrue(after.getFoods().get(0).isExpired());
+    }
+
+    @Test
+    void testStatusesFixedWhenTaken() {
+        ExpiryClock.getInstance().setClock(Clock.fixed(LocalDate.of(2030, 2, 2).atTime(12, 0)
+                .atZone(Food.TIME_ZONE).toInstant(), Food.TIME_ZONE));
+        calendar.addFood(B);
+        CalendarSnapshot snapshot = calendar.snapshot();
+        ExpiryClock.getInstance().setClock(Clock.fixed(LocalDate.of(2030, 2, 4).atTime(12, 0)
+                .atZone(Food.TIME_ZONE).toInstant(), Food.TIME_ZONE));
+        calendar.refreshExpiryStatus();
+        assertFalse(snapshot.toJson().getJSONArray("foods").getJSONObject(0).getBoolean("expired"));
+        assertTrue(calendar.snapshot().toJson().getJSONArray("foods").getJSONObject(0).getBoolean("expired"));
+    }
+
+    @Test
+    void testToJson() {
+        calendar.addFood(A);
+        calendar.addFood(C);
+        CalendarSnapshot snapshot = calendar.snapshot();
+        calendar.removeFood("A");
+        assertEquals(2, snapshot.toJson().getJSONArray("foods").length());
+        assertEquals("A", snapshot.toJson().getJSONArray("foods").getJSONObject(0).getString("name"));
+        assertEquals(calendar.toJson().toString(), calendar.snapshot().toJson().toString());
+    }
+}
@@ -1,9 +1,13 @@
 package model;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Clock;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -19,6 +23,17 @@ public class CalendarTest {
         calendar = new Calendar();
     }
 
+    @AfterEach
+    void runAfter() {
+        ExpiryClock.getInstance().setClock(Clock.system(Food.TIME_ZONE));
+    }
+
+    // EFFECTS: sets the current date to date, at noon
+    private void setToday(LocalDate date) {
+        ExpiryClock.getInstance().setClock(Clock.fixed(date.atTime(12, 0).atZone(Food.TIME_ZONE).toInstant(),
+                Food.TIME_ZONE));
+    }
+
     @Test
     void testConstructor() {
         assertTrue(calendar.getFoodList().isEmpty());
@@ -66,6 +81,22 @@ public class CalendarTest {
         assertFalse(foods.contains(B));
     }
 
+    @Test
+    void testRemoveFoodFirstInOrderAdded() {
+        Food otherB = new Food("B", "2040/01/01", "2025/02/05");
+        calendar.addFood(B);
+        calendar.addFood(otherB);
+        calendar.addFood(B);
+        assertTrue(calendar.removeFood("B"));
+        assertEquals(otherB, calendar.getFoodList().get(0));
+        assertEquals(B, calendar.getFoodList().get(1));
+        assertTrue(calendar.removeFood("B"));
+        assertEquals(B, calendar.getFoodList().get(0));
+        assertTrue(calendar.removeFood("B"));
+        assertFalse(calendar.removeFood("B"));
+        assertTrue(calendar.getFoodList().isEmpty());
+    }
+
     @Test
     void testClearList() {
         List <Food> foods= calendar.getFoodList();
@@ -110,6 +141,72 @@ public class CalendarTest {
         assertEquals(3, result.size());
     }
 
+    @Test
+    void testGetFoodListExpiresInDaysSortedByExpiry() {
+        LocalDate now = ExpiryClock.getInstance().today();
+        Food soon = new Food("D", now.plusDays(2).format(Food.DATE_FORMAT), "2020/01/01");
+        Food tomorrow = new Food("E", now.plusDays(1).format(Food.DATE_FORMAT), "2020/01/01");
+        Food today = new Food("F", now.format(Food.DATE_FORMAT), "2020/01/01");
+        calendar.addFood(soon);
+        calendar.addFood(today);
+        calendar.addFood(tomorrow);
+        calendar.addFood(soon);
+        List<Food> result = calendar.getFoodListExpiresInDays(2);
+        assertEquals(3, result.size());
+        assertEquals(tomorrow, result.get(0));
+        assertEquals(soon, result.get(1));
+        assertEquals(soon, result.get(2));
+        assertEquals(1, calendar.getFoodListExpiresInDays(1).size());
+        assertTrue(calendar.getFoodListExpiresInDays(0).isEmpty());
+    }
+
+    @Test
+    void testGetFoodListExpiresInDaysAfterRemoveAndClear() {
+        calendar.addFood(B);
+        calendar.addFood(C);
+        calendar.addFood(B);
+        assertTrue(calendar.removeFood("B"));
+        List<Food> result = calendar.getFoodListExpiresInDays(15000);
+        assertEquals(2, result.size());
+        assertTrue(calendar.removeFood("B"));
+        result = calendar.getFoodListExpiresInDays(15000);
+        assertEquals(1, result.size());
+        assertEquals(C, result.get(0));
+        calendar.clearList();
+        assertTrue(calendar.getFoodListExpiresInDays(15000).isEmpty());
+    }
+
+    @Test
+    void testRefreshExpiryStatusDayRollover() {
+        setToday(LocalDate.of(2030, 2, 1));
+        calendar = new Calendar();
+        calendar.addFood(B);
+        calendar.addFood(C);
+        assertFalse(calendar.searchCheckStatus("B"));
+        assertTrue(calendar.getFoodListExpiresInDays(1).isEmpty());
+        assertEquals(1, calendar.getFoodListExpiresInDays(2).size());
+
+        setToday(LocalDate.of(2030, 2, 3));
+        assertTrue(calendar.searchCheckStatus("B"));
+        assertTrue(B.isExpired());
+        assertFalse(C.isExpired());
+        assertTrue(calendar.getFoodListExpiresInDays(1).isEmpty());
+
+        setToday(LocalDate.of(2030, 2, 2));
+        calendar.refreshExpiryStatus();
+        assertFalse(B.isExpired());
+        assertEquals(B, calendar.getFoodListExpiresInDays(1).get(0));
+    }
+
+    @Test
+    void testAddFoodUpdatesExpiryStatus() {
+        Food food = new Food("D", "2030/02/03", "2030/01/01");
+        assertFalse(food.isExpired());
+        setToday(LocalDate.of(2030, 2, 5));
+        calendar.addFood(food);
+        assertTrue(food.isExpired());
+    }
+
     @Test
     void testSearchCheckStatusEmpty() {
         assertFalse(calendar.searchCheckStatus("C"));
@@ -141,6 +238,22 @@ public class CalendarTest {
         assertFalse(calendar.searchCheckStatus("C"));
     }
 
+    @Test
+    void testFindFood() {
+        Food otherB = new Food("B", "2000/01/01", "1999/02/05");
+        assertNull(calendar.findFood("B"));
+        calendar.addFood(A);
+        calendar.addFood(otherB);
+        calendar.addFood(B);
+        assertEquals(otherB, calendar.findFood("B"));
+        assertTrue(calendar.searchCheckStatus("B"));
+        calendar.removeFood("B");
+        assertEquals(B, calendar.findFood("B"));
+        assertFalse(calendar.searchCheckStatus("B"));
+        calendar.clearList();
+        assertNull(calendar.findFood("A"));
+    }
+
     @Test
     void testReturnSortedListEmpty() {
         assertEquals("Expired foods:\nNo food products listed"
@@ -159,6 +272,14 @@ public class CalendarTest {
         assertEquals(msg, calendar.returnSortedList());
     }
 
+    @Test
+    void testGetFoodListReadOnly() {
+        calendar.addFood(A);
+        assertThrows(UnsupportedOperationException.class, () -> calendar.getFoodList().add(B));
+        assertThrows(UnsupportedOperationException.class, () -> calendar.getFoodList().clear());
+        assertEquals(1, calendar.getFoodList().size());
+    }
+
     @Test
     void testGetFoodList() {
         List<Food> foods = calendar.getFoodList();
@@ -171,4 +292,195 @@ public class CalendarTest {
         assertEquals(C, foods.get(2));
     }
 
+    @Test
+    void testAddAll() {
+        calendar.addFood(A);
+        EventLog.getInstance().clear();
+        calendar.addAll(List.of(C, B, C));
+        assertEquals(List.of(A, C, B, C), calendar.getFoodList());
+        assertEquals(C, calendar.findFood("C"));
+        assertEquals(List.of(B, C, C), calendar.getFoodListExpiresInDays(100000));
+        assertFalse(calendar.searchCheckStatus("B"));
+
+        List<Event> events = EventLog.getInstance().query(Event.Kind.FOOD_ADDED, 0, Long.MAX_VALUE);
+        assertEquals(1, events.size());
+        assertEquals(3, events.get(0).getCount());
+        assertNull(events.get(0).getFoodName());
+    }
+
+    @Test
+    void testAddAllEmpty() {
+        EventLog.getInstance().clear();
+        calendar.addAll(new ArrayList<>());
+        assertTrue(calendar.getFoodList().isEmpty());
+        assertTrue(EventLog.getInstance().query(Event.Kind.FOOD_ADDED, 0, Long.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    void testRemoveIf() {
+        calendar.addAll(List.of(A, B, C, A));
+        EventLog.getInstance().clear();
+        assertEquals(2, calendar.removeIf(Food::isExpired));
+        assertEquals(List.of(B, C), calendar.getFoodList());
+        assertNull(calendar.findFood("A"));
+        assertEquals(List.of(B, C), calendar.getFoodListExpiresInDays(100000));
+        assertEquals(0, calendar.removeIf(Food::isExpired));
+
+        List<Event> events = EventLog.getInstance().query(Event.Kind.FOOD_REMOVED, 0, Long.MAX_VALUE);
+        assertEquals(1, events.size());
+        assertEquals(2, events.get(0).getCount());
+    }
+
+    @Test
+    void testRemoveAll() {
+        Food otherB = new Food("B", "2031/02/03","2025/02/05");
+        calendar.addAll(List.of(A, B, C, otherB));
+        assertEquals(3, calendar.removeAll(List.of("B", "C", "D")));
+        assertEquals(List.of(A), calendar.getFoodList());
+        assertFalse(calendar.removeFood("B"));
+        assertEquals(0, calendar.removeAll(List.of("B")));
+    }
+
+    @Test
+    void testRemoveFoodMatching() {
+        Food otherB = new Food("B", "2031/02/03","2025/02/05");
+        calendar.addAll(List.of(B, otherB));
+        assertTrue(calendar.removeFood(new Food("B", "2031/02/03","2025/02/05")));
+        assertEquals(List.of(B), calendar.getFoodList());
+        assertFalse(calendar.removeFood(new Food("B", "2031/02/03","2025/02/05")));
+        assertFalse(calendar.removeFood(new Food("B", "2030/02/03","2025/02/06")));
+        assertFalse(calendar.removeFood(A));
+        assertEquals(List.of(B), calendar.getFoodList());
+    }
+
+    @Test
+    void testRemoveFoodSameObject() {
+        Food first = new Food("B", "2031/02/03","2025/02/05");
+        Food second = new Food("B", "2031/02/03","2025/02/05");
+        calendar.addAll(List.of(first, A, second));
+        assertTrue(calendar.removeFood(second));
+        assertEquals(2, calendar.getFoodList().size());
+        assertSame(first, calendar.getFoodList().get(0));
+        assertSame(first, calendar.findFood("B"));
+    }
+
+    @Test
+    void testBatchNotifiesObservers() {
+        List<String> changes = new ArrayList<>();
+        calendar.addObserver(new CalendarObserver() {
+            @Override
+            public void foodAdded(Food food) {
+                changes.add("+" + food.getName());
+            }
+
+            @Override
+            public void foodRemoved(Food food) {
+                changes.add("-" + food.getName());
+            }
+
+            @Override
+            public void listCleared() {
+                changes.add("clear");
+            }
+        });
+        calendar.addAll(List.of(A, B));
+        calendar.removeIf(f -> true);
+        assertEquals(List.of("+A", "+B", "-A", "-B"), changes);
+    }
+
+    @Test
+    void testCountExpiringPerDay() {
+        Food otherB = new Food("otherB", "2030/02/03","2025/02/05");
+        Food laterB = new Food("laterB", "2030/02/05","2025/02/05");
+        calendar.addAll(List.of(A, B, C, otherB, laterB));
+        int[] counts = calendar.countExpiringPerDay(LocalDate.of(2030, 2, 1), LocalDate.of(2030, 2, 5));
+        assertArrayEquals(new int[] {0, 0, 2, 0, 1}, counts);
+        calendar.removeFood("B");
+        counts = calendar.countExpiringPerDay(LocalDate.of(2030, 2, 3), LocalDate.of(2030, 2, 3));
+        assertArrayEquals(new int[] {1}, counts);
+        counts = calendar.countExpiringPerDay(LocalDate.of(1999, 1, 1), LocalDate.of(1999, 1, 2));
+        assertArrayEquals(new int[] {0, 0}, counts);
+    }
+
+    @Test
+    void testCountExpiringPerDayWholeYear() {
+        Food newYear = new Food("newYear", "2032/01/01","2025/02/05");
+        Food leapDay = new Food("leapDay", "2032/02/29","2025/02/05");
+        Food yearEnd = new Food("yearEnd", "2032/12/31","2025/02/05");
+        Food nextYear = new Food("nextYear", "2033/01/01","2025/02/05");
+        calendar.addAll(List.of(newYear, leapDay, yearEnd, nextYear));
+        int[] counts = calendar.countExpiringPerDay(LocalDate.of(2032, 1, 1), LocalDate.of(2032, 12, 31));
+        assertEquals(366, counts.length);
+        assertEquals(1, counts[0]);
+        assertEquals(1, counts[LocalDate.of(2032, 2, 29).getDayOfYear() - 1]);
+        assertEquals(1, counts[365]);
+        assertEquals(3, Arrays.stream(counts).sum());
+    }
+
+    @Test
+    void testRemoveManyKeepsOrder() {
+        List<Food> added = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            added.add(new Food("food" + i, "2050/10/15", "2050/01/25"));
+        }
+        calendar.addAll(added);
+        for (int i = 0; i < 1000; i += 3) {
+            assertTrue(calendar.removeFood("food" + i));
+        }
+        calendar.addFood(A);
+        List<Food> foods = calendar.getFoodList();
+        assertEquals(667, foods.size());
+        assertEquals("food1", foods.get(0).getName());
+        assertEquals("food998", foods.get(665).getName());
+        assertEquals(A, foods.get(666));
+        assertEquals(666, calendar.countExpiringPerDay(LocalDate.of(2050, 10, 15), LocalDate.of(2050, 10, 15))[0]);
+        assertEquals(333, calendar.removeIf(f -> f.getName().endsWith("1") || f.getName().endsWith("5")
+                || f.getName().endsWith("7") || f.getName().endsWith("9") || f.getName().endsWith("3")));
+        assertEquals(334, calendar.getFoodList().size());
+        assertEquals("food2", calendar.getFoodList().get(0).getName());
+    }
+
+    @Test
+    void testSizeAndGetFood() {
+        assertEquals(0, calendar.size());
+        calendar.addFood(A);
+        calendar.addFood(B);
+        calendar.addFood(C);
+        calendar.removeFood("B");
+        assertEquals(2, calendar.size());
+        assertEquals(A, calendar.getFood(0));
+        assertEquals(C, calendar.getFood(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> calendar.getFood(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> calendar.getFood(-1));
+    }
+
+    @Test
+    void testRemoveSameObjectTwice() {
+        calendar.addFood(A);
+        calendar.addFood(B);
+        calendar.addFood(A);
+        assertTrue(calendar.removeFood(A));
+        assertEquals(Arrays.asList(B, A), calendar.getFoodList());
+        assertEquals(A, calendar.findFood("A"));
+        assertTrue(calendar.removeFood(A));
+        assertNull(calendar.findFood("A"));
+        assertFalse(calendar.removeFood(A));
+        assertEquals(Arrays.asList(B), calendar.getFoodList());
+    }
+
+    @Test
+    void testRemoveAfterSnapshot() {
+        calendar.addFood(A);
+        calendar.addFood(B);
+        calendar.addFood(C);
+        CalendarSnapshot before = calendar.snapshot();
+        calendar.removeFood("B");
+        CalendarSnapshot after = calendar.snapshot();
+        calendar.removeFood("A");
+        assertEquals(Arrays.asList(A, B, C), before.getFoods());
+        assertEquals(Arrays.asList(A, C), after.getFoods());
+        assertEquals(Arrays.asList(C), calendar.getFoodList());
+        assertEquals("Expired foods:\nNo food products listed\nNon-expired foods:\n\t" + C + "\n",
+                calendar.returnSortedList());
+    }
 }
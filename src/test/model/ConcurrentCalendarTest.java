@@ -0,0 +1,149 @@
+package model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentCalendarTest {
+    ConcurrentCalendar calendar;
+    Food A = new Food("A", "2000/01/01","2005/05/05");
+    Food B = new Food("B", "2030/02/03","2025/02/05");
+    Food C = new Food("C", "2050/10/15","2050/01/25");
+
+    @BeforeEach
+    void runBefore() {
+        calendar = new ConcurrentCalendar();
+    }
+
+    @AfterEach
+    void runAfter() {
+        ExpiryClock.getInstance().setClock(Clock.system(Food.TIME_ZONE));
+        EventLog.getInstance().clear();
+    }
+
+    @Test
+    void testSameBehaviourAsCalendar() {
+        calendar.addFood(A);
+        calendar.addFood(B);
+        calendar.addFood(C);
+        assertTrue(calendar.searchCheckStatus("A"));
+        assertEquals(B, calendar.findFood("B"));
+        assertEquals(2, calendar.getFoodListExpiresInDays(15000).size());
+        assertTrue(calendar.removeFood("A"));
+        assertFalse(calendar.removeFood("A"));
+        assertEquals("Expired foods:\nNo food products listed\nNon-expired foods:\n\t" + B + "\n\t" + C + "\n",
+                calendar.returnSortedList());
+        assertEquals(2, calendar.toJson().getJSONArray("foods").length());
+        calendar.clearList();
+        assertTrue(calendar.getFoodList().isEmpty());
+    }
+
+    @Test
+    void testGetFoodListIsCopy() {
+        calendar.addFood(A);
+        List<Food> foods = calendar.getFoodList();
+        calendar.addFood(B);
+        assertEquals(1, foods.size());
+        assertEquals(2, calendar.getFoodList().size());
+        assertThrows(UnsupportedOperationException.class, () -> foods.add(C));
+    }
+
+    @Test
+    void testGetFoodIsLive() {
+        calendar.addFood(A);
+        calendar.addFood(B);
+        calendar.addFood(C);
+        calendar.removeFood("A");
+        assertEquals(2, calendar.size());
+        assertEquals(B, calendar.getFood(0));
+        assertEquals(C, calendar.getFood(1));
+        calendar.addFood(A);
+        assertEquals(A, calendar.getFood(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> calendar.getFood(3));
+    }
+
+    @Test
+    void testRefreshExpiryStatus() {
+        ExpiryClock.getInstance().setClock(Clock.fixed(LocalDate.of(2030, 2, 1).atTime(12, 0)
+                .atZone(Food.TIME_ZONE).toInstant(), Food.TIME_ZONE));
+        calendar = new ConcurrentCalendar();
+        calendar.addFood(B);
+        assertFalse(calendar.searchCheckStatus("B"));
+        ExpiryClock.getInstance().setClock(Clock.fixed(LocalDate.of(2030, 2, 3).atTime(12, 0)
+                .atZone(Food.TIME_ZONE).toInstant(), Food.TIME_ZONE));
+        assertTrue(calendar.searchCheckStatus("B"));
+    }
+
+    @Test
+    void testConcurrentReadersAndWriters() throws InterruptedException {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            String name = "food" + t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    calendar.addFood(new Food(name, "2050/10/15", "2050/01/25"));
+                    calendar.addFood(new Food(name, "2050/10/16", "2050/01/25"));
+                    calendar.removeFood(name);
+                }
+            }));
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    calendar.getFoodListExpiresInDays(15000);
+                    calendar.searchCheckStatus(name);
+                    for (Food f : calendar.getFoodList()) {
+                        f.getName();
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.setUncaughtExceptionHandler((th, e) -> failure.set(e));
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(failure.get());
+        assertEquals(4 * 2000, calendar.getFoodList().size());
+        assertEquals(4 * 2000, calendar.getFoodListExpiresInDays(15000).size());
+    }
+
+    @Test
+    void testReadersRunTogether() throws InterruptedException {
+        calendar.addFood(B);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> calendar.read(() -> {
+            holding.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        holder.start();
+        assertTrue(holding.await(5, TimeUnit.SECONDS));
+        AtomicReference<Food> found = new AtomicReference<>();
+        Thread reader = new Thread(() -> found.set(calendar.findFood("B")));
+        reader.start();
+        reader.join(5000);
+        boolean finishedWhileHeld = !reader.isAlive();
+        release.countDown();
+        holder.join();
+        reader.join();
+        assertTrue(finishedWhileHeld);
+        assertSame(B, found.get());
+    }
+}
@@ -0,0 +1,63 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+// Measures how many events per second EventLog accepts with 1, 2, 4 and 8 threads logging at once,
+// both keeping every event and with a bounded retention. Run main directly; not part of the test suite.
+public class EventLogBenchmark {
+    private static final int EVENTS_PER_THREAD = 1_000_000;
+    private static final int RETENTION = 10000;
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8};
+
+    public static void main(String[] args) throws InterruptedException {
+        Event event = new Event("Benchmark event");
+        for (int retention : new int[]{EventLog.UNBOUNDED, RETENTION}) {
+            for (int threads : THREAD_COUNTS) {
+                run(event, retention, threads); // warm up
+                double perSecond = run(event, retention, threads);
+                System.out.printf("retention=%-9s threads=%d  %,.0f events/s%n",
+                        retention == EventLog.UNBOUNDED ? "unbounded" : Integer.toString(retention),
+                        threads, perSecond);
+            }
+        }
+        EventLog.getInstance().setRetention(EventLog.UNBOUNDED);
+    }
+
+    // EFFECTS: logs EVENTS_PER_THREAD events from each of threads threads at once into a cleared log
+    //          with the given retention, and returns the number of events logged per second
+    private static double run(Event event, int retention, int threads) throws InterruptedException {
+        EventLog log = EventLog.getInstance();
+        log.setRetention(retention);
+        log.clear();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                awaitQuietly(start);
+                for (int i = 0; i < EVENTS_PER_THREAD; i++) {
+                    log.logEvent(event);
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - begin;
+        return (double) threads * EVENTS_PER_THREAD / elapsed * 1e9;
+    }
+
+    // EFFECTS: waits for latch to reach zero
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
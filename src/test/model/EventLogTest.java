@@ -0,0 +1,183 @@
+package model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventLogTest {
+    private Event e1;
+    private Event e2;
+    private Event e3;
+
+    @BeforeEach
+    public void loadEvents() {
+        e1 = new Event("A1");
+        e2 = new Event("A2");
+        e3 = new Event("A3");
+        EventLog el = EventLog.getInstance();
+        el.setRetention(EventLog.UNBOUNDED);
+        el.clear();
+    }
+
+    @AfterEach
+    public void resetRetention() {
+        EventLog.getInstance().setRetention(EventLog.UNBOUNDED);
+    }
+
+    @Test
+    public void testLogEvent() {
+        EventLog el = EventLog.getInstance();
+        el.logEvent(e1);
+        el.logEvent(e2);
+        el.logEvent(e3);
+        List<Event> l = eventsIn(el);
+
+        assertTrue(l.contains(e1));
+        assertTrue(l.contains(e2));
+        assertTrue(l.contains(e3));
+        assertEquals(4, l.size()); // including "Event log cleared."
+    }
+
+    @Test
+    public void testQuery() {
+        EventLog el = EventLog.getInstance();
+        long start = Event.now();
+        Calendar calendar = new Calendar();
+        calendar.addFood(new Food("milk", "2023/07/01", "2023/06/25"));
+        calendar.addFood(new Food("bread", "2050/08/02", "2050/08/01"));
+        calendar.removeFood("milk");
+        calendar.clearList();
+        long end = Event.now() + 1;
+
+        List<Event> added = el.query(Event.Kind.FOOD_ADDED, start, end);
+        assertEquals(2, added.size());
+        assertEquals("milk", added.get(0).getFoodName());
+        assertEquals("bread", added.get(1).getFoodName());
+        List<Event> removed = el.query(Event.Kind.FOOD_REMOVED, start, end);
+        assertEquals(1, removed.size());
+        assertEquals("milk", removed.get(0).getFoodName());
+        List<Event> cleared = el.query(Event.Kind.LIST_CLEARED, start, end);
+        assertEquals(1, cleared.size());
+        assertEquals(1, cleared.get(0).getCount());
+        assertTrue(el.query(Event.Kind.FOOD_ADDED, end, Long.MAX_VALUE).isEmpty());
+        assertTrue(el.query(Event.Kind.FOOD_ADDED, 0, start).isEmpty());
+    }
+
+    @Test
+    public void testClear() {
+        EventLog el = EventLog.getInstance();
+        el.logEvent(e1);
+        el.clear();
+        List<Event> l = eventsIn(el);
+        assertEquals(1, l.size());
+        assertEquals("Event log cleared.", l.get(0).getDescription());
+    }
+
+    @Test
+    public void testRetentionKeepsMostRecent() {
+        EventLog el = EventLog.getInstance();
+        el.setRetention(2);
+        assertEquals(2, el.getRetention());
+        el.logEvent(e1);
+        el.logEvent(e2);
+        el.logEvent(e3);
+        List<Event> l = eventsIn(el);
+        assertEquals(2, l.size());
+        assertSame(e2, l.get(0));
+        assertSame(e3, l.get(1));
+    }
+
+    @Test
+    public void testSetRetentionKeepsLoggedEvents() {
+        EventLog el = EventLog.getInstance();
+        el.logEvent(e1);
+        el.logEvent(e2);
+        el.logEvent(e3);
+        el.setRetention(2);
+        List<Event> l = eventsIn(el);
+        assertEquals(2, l.size());
+        assertSame(e2, l.get(0));
+        assertSame(e3, l.get(1));
+
+        el.setRetention(EventLog.UNBOUNDED);
+        assertEquals(EventLog.UNBOUNDED, el.getRetention());
+        el.logEvent(e1);
+        assertEquals(3, eventsIn(el).size());
+    }
+
+    @Test
+    public void testSetRetentionInvalid() {
+        EventLog el = EventLog.getInstance();
+        el.setRetention(3);
+        assertThrows(IllegalArgumentException.class, () -> el.setRetention(-1));
+        assertEquals(3, el.getRetention());
+        el.logEvent(e1);
+        List<Event> l = eventsIn(el);
+        assertSame(e1, l.get(l.size() - 1));
+    }
+
+    @Test
+    public void testClearWithRetention() {
+        EventLog el = EventLog.getInstance();
+        el.setRetention(5);
+        el.logEvent(e1);
+        el.clear();
+        List<Event> l = eventsIn(el);
+        assertEquals(1, l.size());
+        assertEquals("Event log cleared.", l.get(0).getDescription());
+        assertEquals(5, el.getRetention());
+    }
+
+    @Test
+    public void testConcurrentProducers() throws InterruptedException {
+        EventLog el = EventLog.getInstance();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    EventLog.getInstance().logEvent(e1);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1 + 4 * 10000, eventsIn(el).size());
+    }
+
+    @Test
+    public void testRetentionConcurrentProducers() throws InterruptedException {
+        EventLog el = EventLog.getInstance();
+        el.setRetention(1000);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    el.logEvent(e1);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1000, eventsIn(el).size());
+    }
+
+    // EFFECTS: returns the events in el in iteration order
+    private List<Event> eventsIn(EventLog el) {
+        List<Event> l = new ArrayList<>();
+        for (Event next : el) {
+            l.add(next);
+        }
+        return l;
+    }
+}
@@ -0,0 +1,57 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventTest {
+    private Event e;
+    private long before;
+
+    @BeforeEach
+    public void runBefore() {
+        before = System.currentTimeMillis();
+        e = new Event(Event.Kind.FOOD_ADDED, "milk", 1);
+    }
+
+    @Test
+    public void testEvent() {
+        assertEquals(Event.Kind.FOOD_ADDED, e.getKind());
+        assertEquals("Added food to calendar", e.getDescription());
+        assertEquals("milk", e.getFoodName());
+        assertEquals(1, e.getCount());
+        assertTrue(Math.abs(e.getDate().getTime() - before) < 1000);
+        assertTrue(e.getTimestamp() <= Event.now());
+    }
+
+    @Test
+    public void testMessageEvent() {
+        Event message = new Event("Sensor open at door");
+        assertEquals(Event.Kind.MESSAGE, message.getKind());
+        assertEquals("Sensor open at door", message.getDescription());
+        assertNull(message.getFoodName());
+        assertEquals(0, message.getCount());
+    }
+
+    @Test
+    public void testKindMessageNeedsDescription() {
+        assertThrows(IllegalArgumentException.class, () -> new Event(Event.Kind.MESSAGE, null, 0));
+    }
+
+    @Test
+    public void testEquals() {
+        assertEquals(e, e);
+        assertNotEquals(e, null);
+        assertNotEquals(e, "milk");
+        assertNotEquals(e, new Event(Event.Kind.FOOD_REMOVED, "milk", 1));
+        assertEquals(e.hashCode(), e.hashCode());
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals(new Date(e.getTimestamp() / 1_000_000).toString() + "\nAdded food to calendar", e.toString());
+    }
+}
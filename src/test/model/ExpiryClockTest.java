@@ -0,0 +1,72 @@
+package model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiryClockTest {
+
+    @AfterEach
+    void runAfter() {
+        ExpiryClock.getInstance().setClock(Clock.system(Food.TIME_ZONE));
+    }
+
+    @Test
+    void testToday() {
+        assertEquals(LocalDate.now(Food.TIME_ZONE), ExpiryClock.getInstance().today());
+    }
+
+    @Test
+    void testSetClock() {
+        ExpiryClock clock = ExpiryClock.getInstance();
+        clock.setClock(Clock.fixed(Instant.parse("2030-02-03T23:00:00Z"), ZoneOffset.UTC));
+        assertEquals(LocalDate.of(2030, 2, 3), clock.today());
+        assertEquals(60 * 60 * 1000, clock.millisUntilNextDay());
+        clock.setClock(Clock.fixed(Instant.parse("2030-02-03T23:00:00Z"), ZoneId.of("Asia/Tokyo")));
+        assertEquals(LocalDate.of(2030, 2, 4), clock.today());
+    }
+
+    @Test
+    void testTodayRollsOver() {
+        ExpiryClock clock = ExpiryClock.getInstance();
+        SettableClock time = new SettableClock(Instant.parse("2030-02-03T23:59:59Z"));
+        clock.setClock(time);
+        assertEquals(LocalDate.of(2030, 2, 3), clock.today());
+        assertEquals(1000, clock.millisUntilNextDay());
+        time.instant = time.instant.plus(Duration.ofSeconds(1));
+        assertEquals(LocalDate.of(2030, 2, 4), clock.today());
+        assertEquals(24 * 60 * 60 * 1000, clock.millisUntilNextDay());
+    }
+
+    // A clock in UTC whose time can be moved by tests
+    private static class SettableClock extends Clock {
+        Instant instant;
+
+        SettableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package model;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Clock;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -15,6 +18,11 @@ class FoodTest {
         testFood = new Food("pasta", "2050/12/31", "2023/07/18");
     }
 
+    @AfterEach
+    void runAfter() {
+        ExpiryClock.getInstance().setClock(Clock.system(Food.TIME_ZONE));
+    }
+
     @Test
     void testConstructor() {
         assertEquals("pasta", testFood.getName());
@@ -23,6 +31,48 @@ class FoodTest {
         assertFalse(testFood.isExpired());
     }
 
+    @Test
+    void testConstructorLocalDate() {
+        Food food = new Food("rice", LocalDate.of(2001, 2, 3), LocalDate.of(2000, 1, 2));
+        assertEquals("rice", food.getName());
+        assertEquals(LocalDate.parse("2001/02/03", Food.DATE_FORMAT), food.getExpiryDate());
+        assertEquals(LocalDate.parse("2000/01/02", Food.DATE_FORMAT), food.getDatePurchased());
+        assertTrue(food.isExpired());
+    }
+
+    @Test
+    void testOfEpochDays() {
+        Food food = Food.ofEpochDays("rice", LocalDate.of(2050, 1, 2).toEpochDay(), 0);
+        assertEquals("rice", food.getName());
+        assertEquals(LocalDate.parse("2050/01/02", Food.DATE_FORMAT), food.getExpiryDate());
+        assertEquals(LocalDate.parse("1970/01/01", Food.DATE_FORMAT), food.getDatePurchased());
+        assertFalse(food.isExpired());
+    }
+
+    @Test
+    void testParseDate() {
+        assertEquals(LocalDate.of(2023, 7, 18), Food.parseDate("2023/07/18"));
+        assertEquals(LocalDate.of(2024, 2, 29), Food.parseDate("2024/02/29"));
+        assertEquals(LocalDate.of(1999, 12, 31), Food.parseDate("1999/12/31"));
+    }
+
+    @Test
+    void testParseDateSameAsDateFormat() {
+        String[] dates = {"2023/02/30", "2023/04/31", "2023/02/29", "2024/02/30"};
+        for (String date : dates) {
+            assertEquals(LocalDate.parse(date, Food.DATE_FORMAT), Food.parseDate(date));
+        }
+    }
+
+    @Test
+    void testParseDateInvalid() {
+        String[] dates = {"", "2023-07-18", "2023/7/18", "2023/13/01", "2023/00/10", "2023/01/32", "20a3/01/01",
+                "0000/01/01"};
+        for (String date : dates) {
+            assertThrows(DateTimeParseException.class, () -> Food.parseDate(date));
+        }
+    }
+
     @Test
     void testSetExpiryDateNotExpired() {
         assertEquals(LocalDate.parse("2050/12/31", Food.DATE_FORMAT), testFood.getExpiryDate());
@@ -38,20 +88,22 @@ class FoodTest {
         testFood.setExpiryDate("2004/02/26");
         assertEquals(LocalDate.parse("2004/02/26", Food.DATE_FORMAT), testFood.getExpiryDate());
         assertTrue(testFood.isExpired());
-        testFood.setExpiryDate(Food.TODAY.format(Food.DATE_FORMAT));
+        testFood.setExpiryDate(ExpiryClock.getInstance().today().format(Food.DATE_FORMAT));
         assertTrue(testFood.isExpired());
     }
 
     @Test
     void testDaysUntilExpired() {
-        String notExpiredDate = Food.TODAY.plusDays(7).format(Food.DATE_FORMAT);
+        String notExpiredDate = ExpiryClock.getInstance().today()
+                .plusDays(7).format(Food.DATE_FORMAT);
         testFood.setExpiryDate(notExpiredDate);
         assertEquals(7, testFood.daysUntilExpired());
     }
 
     @Test
     void testDaysUntilExpiredExpiresTomorrow() {
-        String notExpiredDate = Food.TODAY.plusDays(1).format(Food.DATE_FORMAT);
+        String notExpiredDate = ExpiryClock.getInstance().today()
+                .plusDays(1).format(Food.DATE_FORMAT);
         testFood.setExpiryDate(notExpiredDate);
         assertEquals(1, testFood.daysUntilExpired());
     }
@@ -67,6 +119,24 @@ class FoodTest {
         assertTrue(testFood.isExpired());
     }
 
+    @Test
+    void testIsExpiredFollowsClock() {
+        Food food = new Food("milk", "2030/02/03", "2030/01/01");
+        setToday(LocalDate.of(2030, 2, 2));
+        assertFalse(food.isExpired());
+        assertEquals(1, food.daysUntilExpired());
+        setToday(LocalDate.of(2030, 2, 4));
+        assertTrue(food.isExpired());
+        assertTrue(food.toString().startsWith("milk: EXPIRED 1 days ago"));
+        assertTrue(food.toJson().getBoolean("expired"));
+    }
+
+    @Test
+    void testIsExpiredOn() {
+        assertFalse(testFood.isExpiredOn(LocalDate.of(2050, 12, 30)));
+        assertTrue(testFood.isExpiredOn(LocalDate.of(2050, 12, 31)));
+    }
+
     @Test
     void testGetName() {
         assertEquals("pasta", testFood.getName());
@@ -95,5 +165,8 @@ class FoodTest {
                 + " days ago (1979/04/02)\n purchased 2023/07/18", testFood.toString());
     }
 
-
-}
\ No newline at end of file
+    private void setToday(LocalDate today) {
+        ExpiryClock.getInstance().setClock(Clock.fixed(today.atTime(12, 0).atZone(Food.TIME_ZONE).toInstant(),
+                Food.TIME_ZONE));
+    }
+}
@@ -0,0 +1,50 @@
+package persistence;
+
+import model.Calendar;
+import model.Food;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryReaderTest extends JsonTest {
+
+    @Test
+    void testReaderNonExistentFile() {
+        BinaryReader reader = new BinaryReader("./data/noSuchFile.dat");
+        try {
+            Calendar c = reader.read();
+            fail("IOException expected");
+        } catch (IOException e) {
+            // pass
+        }
+    }
+
+    @Test
+    void testReaderNotSnapshot() {
+        BinaryReader reader = new BinaryReader("./data/testReaderGeneralCalendar.json");
+        try {
+            Calendar c = reader.read();
+            fail("IOException expected");
+        } catch (IOException e) {
+            // pass
+        }
+    }
+
+    @Test
+    void testReaderConvertedCalendar() {
+        try {
+            SnapshotConverter.jsonToBinary("./data/testReaderGeneralCalendar.json",
+                    "./data/testReaderGeneralCalendar.dat");
+            BinaryReader reader = new BinaryReader("./data/testReaderGeneralCalendar.dat");
+            List<Food> foods = reader.read().getFoodList();
+            assertEquals(2, foods.size());
+            checkFood("milk", "2023/07/01", "2023/06/25", true, foods.get(0));
+            checkFood("bread", "2050/08/02", "2050/08/01", false, foods.get(1));
+        } catch (IOException e) {
+            fail("Couldn't read from file");
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package persistence;
+
+import model.Calendar;
+import model.Food;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryWriterTest extends JsonTest {
+
+    @Test
+    void testWriterInvalidFile() {
+        try {
+            BinaryWriter writer = new BinaryWriter("./data/my\0illegal:fileName.dat");
+            writer.open();
+            fail("IOException was expected");
+        } catch (IOException e) {
+            // pass
+        }
+    }
+
+    @Test
+    void testWriterEmptyCalendar() {
+        try {
+            BinaryWriter writer = new BinaryWriter("./data/testWriterEmptyCalendar.dat");
+            writer.open();
+            writer.write(new Calendar());
+            writer.close();
+
+            assertEquals(BinaryWriter.HEADER_SIZE, Files.size(Paths.get("./data/testWriterEmptyCalendar.dat")));
+            Calendar c = new BinaryReader("./data/testWriterEmptyCalendar.dat").read();
+            assertEquals(0, c.getFoodList().size());
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testWriterGeneralCalendar() {
+        try {
+            Calendar c = new Calendar();
+            c.addFood(new Food("milk", "2023/07/01", "2023/06/25"));
+            c.addFood(new Food("bread", "2050/08/02", "2050/08/01"));
+            c.addFood(new Food("milk", "2050/07/01", "2050/06/25"));
+            BinaryWriter writer = new BinaryWriter("./data/testWriterGeneralCalendar.dat");
+            writer.open();
+            writer.write(c);
+            writer.close();
+
+            long namesSize = (2 + "milk".length()) + (2 + "bread".length());
+            assertEquals(BinaryWriter.HEADER_SIZE + namesSize + 3 * BinaryWriter.RECORD_SIZE,
+                    Files.size(Paths.get("./data/testWriterGeneralCalendar.dat")));
+            List<Food> foods = new BinaryReader("./data/testWriterGeneralCalendar.dat").read().getFoodList();
+            assertEquals(3, foods.size());
+            checkFood("milk", "2023/07/01", "2023/06/25", true, foods.get(0));
+            checkFood("bread", "2050/08/02", "2050/08/01", false, foods.get(1));
+            checkFood("milk", "2050/07/01", "2050/06/25", false, foods.get(2));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testConvertBinaryToJson() {
+        try {
+            SnapshotConverter.jsonToBinary("./data/testReaderGeneralCalendar.json",
+                    "./data/testReaderGeneralCalendar.dat");
+            SnapshotConverter.binaryToJson("./data/testReaderGeneralCalendar.dat",
+                    "./data/testWriterConvertedCalendar.json");
+            List<Food> foods = new JsonReader("./data/testWriterConvertedCalendar.json").read().getFoodList();
+            assertEquals(2, foods.size());
+            checkFood("milk", "2023/07/01", "2023/06/25", true, foods.get(0));
+            checkFood("bread", "2050/08/02", "2050/08/01", false, foods.get(1));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+}
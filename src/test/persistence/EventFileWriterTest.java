@@ -0,0 +1,125 @@
+package persistence;
+
+import model.Event;
+import model.EventLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventFileWriterTest {
+    private static final String EVENT_LOG = "./data/testEvents.log";
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        deleteEventLogs();
+    }
+
+    @AfterEach
+    void runAfter() throws IOException {
+        EventLog.getInstance().setSink(null);
+        deleteEventLogs();
+    }
+
+    @Test
+    void testWriterInvalidFile() {
+        try {
+            EventFileWriter writer = new EventFileWriter("./data/my\0illegal:fileName.log", 1024, 1);
+            writer.start();
+            fail("IOException was expected");
+        } catch (IOException e) {
+            // pass
+        }
+    }
+
+    @Test
+    void testWriterCloseBeforeStart() {
+        EventFileWriter writer = new EventFileWriter("./data/my\0illegal:fileName.log", 1024, 1);
+        writer.close();
+        assertThrows(IOException.class, writer::start);
+        writer.close();
+        writer.close();
+        assertEquals(0, writer.getDroppedCount());
+    }
+
+    @Test
+    void testWriterLoggedEvents() {
+        try {
+            EventFileWriter writer = new EventFileWriter(EVENT_LOG, 1024 * 1024, 1);
+            writer.start();
+            EventLog.getInstance().setSink(writer);
+            EventLog.getInstance().logEvent(new Event(Event.Kind.FOOD_ADDED, "milk", 1));
+            EventLog.getInstance().logEvent(new Event("Checked\nfridge"));
+            writer.close();
+
+            List<String> lines = Files.readAllLines(Paths.get(EVENT_LOG), StandardCharsets.UTF_8);
+            assertEquals(2, lines.size());
+            assertTrue(lines.get(0).endsWith("\tFOOD_ADDED\tAdded food to calendar\tmilk\t1"));
+            assertTrue(lines.get(1).endsWith("\tMESSAGE\tChecked fridge\t\t0"));
+            assertEquals(0, writer.getDroppedCount());
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testWriterRollsOver() {
+        try {
+            EventFileWriter writer = new EventFileWriter(EVENT_LOG, 1, 2);
+            writer.start();
+            for (int i = 1; i <= 4; i++) {
+                writer.eventLogged(new Event("Event " + i));
+            }
+            writer.close();
+
+            assertTrue(Files.readAllLines(Paths.get(EVENT_LOG)).get(0).contains("Event 4"));
+            assertTrue(Files.readAllLines(Paths.get(EVENT_LOG + ".1")).get(0).contains("Event 3"));
+            assertTrue(Files.readAllLines(Paths.get(EVENT_LOG + ".2")).get(0).contains("Event 2"));
+            assertFalse(Files.exists(Paths.get(EVENT_LOG + ".3")));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testWriterKeepsAppendingWhenRollOverFails() throws IOException {
+        Path blocked = Paths.get(EVENT_LOG + ".1");
+        Path blocker = blocked.resolve("blocker");
+        Files.createDirectories(blocked);
+        Files.write(blocker, new byte[0]);
+        try {
+            long start = Event.now();
+            EventFileWriter writer = new EventFileWriter(EVENT_LOG, 1, 1);
+            writer.start();
+            for (int i = 1; i <= 3; i++) {
+                writer.eventLogged(new Event("Event " + i));
+            }
+            writer.close();
+
+            List<String> lines = Files.readAllLines(Paths.get(EVENT_LOG), StandardCharsets.UTF_8);
+            assertEquals(3, lines.size());
+            assertTrue(lines.get(2).contains("Event 3"));
+            List<Event> messages = EventLog.getInstance().query(Event.Kind.MESSAGE, start, Long.MAX_VALUE);
+            assertTrue(messages.stream().anyMatch(e -> e.getDescription().startsWith("Unable to roll over")));
+        } finally {
+            Files.deleteIfExists(blocker);
+            Files.deleteIfExists(blocked);
+        }
+    }
+
+    // EFFECTS: deletes the test event log and its rolled-over files
+    private void deleteEventLogs() throws IOException {
+        Files.deleteIfExists(Paths.get(EVENT_LOG));
+        for (int i = 1; i <= 3; i++) {
+            Files.deleteIfExists(Paths.get(EVENT_LOG + "." + i));
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package persistence;
+
+import model.Calendar;
+import model.Food;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalWriterTest extends JsonTest {
+    private static final String SNAPSHOT = "./data/testJournalCalendar.json";
+    private static final String JOURNAL = "./data/testJournalCalendar.journal";
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        Files.deleteIfExists(Paths.get(JOURNAL));
+        JsonWriter writer = new JsonWriter(SNAPSHOT);
+        writer.open();
+        writer.write(new Calendar());
+        writer.close();
+    }
+
+    @AfterEach
+    void runAfter() throws IOException {
+        Files.deleteIfExists(Paths.get(SNAPSHOT));
+        Files.deleteIfExists(Paths.get(JOURNAL));
+    }
+
+    @Test
+    void testReplayJournal() {
+        try {
+            Calendar c = new Calendar();
+            JournalWriter journal = new JournalWriter(JOURNAL, new JsonWriter(SNAPSHOT, true, true), 100);
+            journal.attach(c, 0);
+            c.addFood(new Food("milk", "2023/07/01", "2023/06/25"));
+            c.addFood(new Food("bread", "2050/08/02", "2050/08/01"));
+            c.addFood(new Food("milk", "2050/07/01", "2050/06/25"));
+            c.removeFood("milk");
+            journal.detach();
+            assertEquals(4, journal.getSequence());
+            assertEquals(4, Files.readAllLines(Paths.get(JOURNAL), StandardCharsets.UTF_8).size());
+
+            JsonReader reader = new JsonReader(SNAPSHOT, JOURNAL);
+            List<Food> foods = reader.read().getFoodList();
+            assertEquals(4, reader.getLastSequence());
+            assertEquals(2, foods.size());
+            checkFood("bread", "2050/08/02", "2050/08/01", false, foods.get(0));
+            checkFood("milk", "2050/07/01", "2050/06/25", false, foods.get(1));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testReplayJournalBatch() {
+        try {
+            Calendar c = new Calendar();
+            JournalWriter journal = new JournalWriter(JOURNAL, new JsonWriter(SNAPSHOT, true, true), 100);
+            journal.attach(c, 0);
+            c.addAll(List.of(new Food("milk", "2050/07/01", "2050/06/25"),
+                    new Food("bread", "2050/08/02", "2050/08/01"),
+                    new Food("milk", "2023/07/01", "2023/06/25")));
+            c.removeIf(Food::isExpired);
+            journal.detach();
+            assertEquals(4, journal.getSequence());
+
+            List<Food> foods = new JsonReader(SNAPSHOT, JOURNAL).read().getFoodList();
+            assertEquals(2, foods.size());
+            checkFood("milk", "2050/07/01", "2050/06/25", false, foods.get(0));
+            checkFood("bread", "2050/08/02", "2050/08/01", false, foods.get(1));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testReplayJournalClear() {
+        try {
+            Calendar c = new Calendar();
+            JournalWriter journal = new JournalWriter(JOURNAL, new JsonWriter(SNAPSHOT, true, true), 100);
+            journal.attach(c, 0);
+            c.addFood(new Food("milk", "2023/07/01", "2023/06/25"));
+            c.clearList();
+            c.addFood(new Food("bread", "2050/08/02", "2050/08/01"));
+            journal.detach();
+
+            List<Food> foods = new JsonReader(SNAPSHOT, JOURNAL).read().getFoodList();
+            assertEquals(1, foods.size());
+            checkFood("bread", "2050/08/02", "2050/08/01", false, foods.get(0));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testSnapshotWriterMustBeDurable() {
+        assertThrows(IllegalArgumentException.class, () -> new JournalWriter(JOURNAL, new JsonWriter(SNAPSHOT), 2));
+    }
+
+    @Test
+    void testFailedCompactionKeepsJournal() throws IOException {
+        Path blocked = Paths.get("./data/testJournalBlockedCalendar.json");
+        Path blocker = blocked.resolve("blocker");
+        Files.createDirectories(blocked);
+        Files.write(blocker, new byte[0]);
+        try {
+            Calendar c = new Calendar();
+            JournalWriter journal = new JournalWriter(JOURNAL, new JsonWriter(blocked.toString(), true, true), 100);
+            journal.attach(c, 0);
+            c.addFood(new Food("milk", "2023/07/01", "2023/06/25"));
+            assertThrows(IOException.class, journal::compact);
+            journal.detach();
+            assertEquals(1, Files.readAllLines(Paths.get(JOURNAL), StandardCharsets.UTF_8).size());
+            assertFalse(Files.exists(Paths.get(blocked + ".tmp")));
+        } finally {
+            Files.deleteIfExists(blocker);
+            Files.deleteIfExists(blocked);
+        }
+    }
+
+    @Test
+    void testCompaction() {
+        try {
+            Calendar c = new Calendar();
+            JournalWriter journal = new JournalWriter(JOURNAL, new JsonWriter(SNAPSHOT, true, true), 2);
+            journal.attach(c, 0);
+            c.addFood(new Food("milk", "2023/07/01", "2023/06/25"));
+            c.addFood(new Food("bread", "2050/08/02", "2050/08/01"));
+            assertTrue(Files.readAllLines(Paths.get(JOURNAL), StandardCharsets.UTF_8).isEmpty());
+            assertEquals(2, new JsonReader(SNAPSHOT).read().getFoodList().size());
+
+            c.removeFood("milk");
+            journal.detach();
+            JsonReader reader = new JsonReader(SNAPSHOT, JOURNAL);
+            List<Food> foods = reader.read().getFoodList();
+            assertEquals(3, reader.getLastSequence());
+            assertEquals(1, foods.size());
+            checkFood("bread", "2050/08/02", "2050/08/01", false, foods.get(0));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testReplaySkipsRecordsInSnapshot() {
+        try {
+            Calendar c = new Calendar();
+            JournalWriter journal = new JournalWriter(JOURNAL, new JsonWriter(SNAPSHOT, true, true), 100);
+            journal.attach(c, 0);
+            c.addFood(new Food("milk", "2023/07/01", "2023/06/25"));
+            JsonWriter writer = new JsonWriter(SNAPSHOT);
+            writer.open();
+            writer.write(c, journal.getSequence());
+            writer.close();
+            c.addFood(new Food("bread", "2050/08/02", "2050/08/01"));
+            journal.detach();
+
+            JsonReader reader = new JsonReader(SNAPSHOT, JOURNAL);
+            List<Food> foods = reader.read().getFoodList();
+            assertEquals(2, reader.getLastSequence());
+            assertEquals(2, foods.size());
+            checkFood("milk", "2023/07/01", "2023/06/25", true, foods.get(0));
+            checkFood("bread", "2050/08/02", "2050/08/01", false, foods.get(1));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testReplayStopsAtTornRecord() {
+        try {
+            Calendar c = new Calendar();
+            JournalWriter journal = new JournalWriter(JOURNAL, new JsonWriter(SNAPSHOT, true, true), 100);
+            journal.attach(c, 0);
+            c.addFood(new Food("milk", "2023/07/01", "2023/06/25"));
+            journal.detach();
+            Files.write(Paths.get(JOURNAL), "{\"op\":\"add\",\"na".getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.APPEND);
+
+            List<Food> foods = new JsonReader(SNAPSHOT, JOURNAL).read().getFoodList();
+            assertEquals(1, foods.size());
+            checkFood("milk", "2023/07/01", "2023/06/25", true, foods.get(0));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+}
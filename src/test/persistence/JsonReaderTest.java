@@ -2,9 +2,14 @@ package persistence;
 
 import model.Calendar;
 import model.Food;
+import org.json.JSONException;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -46,4 +51,151 @@ class JsonReaderTest extends JsonTest {
             fail("Couldn't read from file");
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void testReaderSkipsOtherKeys() {
+        JsonReader reader = new JsonReader("./data/testReaderStreamingCalendar.json");
+        try {
+            Calendar c = reader.read();
+            List<Food> foods = c.getFoodList();
+            assertEquals(3, foods.size());
+            checkFood("rice", "2050/01/01", "2049/01/01", false, foods.get(0));
+            checkFood("eggs", "2001/03/04", "2001/02/04", true, foods.get(1));
+            checkFood("jam", "2060/12/31", "2059/12/31", false, foods.get(2));
+        } catch (IOException e) {
+            fail("Couldn't read from file");
+        }
+    }
+
+    @Test
+    void testReaderSeveralBatches() throws IOException {
+        String file = "./data/testReaderLargeCalendar.json";
+        try {
+            Calendar c = new Calendar();
+            for (int i = 0; i < 10000; i++) {
+                c.addFood(new Food("food" + i, "2050/08/02", "2050/08/01"));
+            }
+            JsonWriter writer = new JsonWriter(file, false);
+            writer.open();
+            writer.write(c);
+            writer.close();
+
+            List<Food> foods = new JsonReader(file).read().getFoodList();
+            assertEquals(10000, foods.size());
+            for (int i = 0; i < 10000; i++) {
+                assertEquals("food" + i, foods.get(i).getName());
+            }
+        } finally {
+            Files.deleteIfExists(Paths.get(file));
+        }
+    }
+
+    @Test
+    void testReaderBadFood() throws IOException {
+        String file = "./data/testReaderBadFoodCalendar.json";
+        try {
+            Files.write(Paths.get(file), "{\"foods\": [{\"name\": \"milk\"}]}".getBytes(StandardCharsets.UTF_8));
+            assertThrows(JSONException.class, () -> new JsonReader(file).read());
+        } finally {
+            Files.deleteIfExists(Paths.get(file));
+        }
+    }
+
+    @Test
+    void testReaderBadJournalSequence() throws IOException {
+        String file = "./data/testReaderBadSequenceCalendar.json";
+        try {
+            Files.write(Paths.get(file), "{\"journal_sequence\": \"7\", \"foods\": []}"
+                    .getBytes(StandardCharsets.UTF_8));
+            assertThrows(JSONException.class, () -> new JsonReader(file).read());
+            Files.write(Paths.get(file), "{\"journal_sequence\": 7, \"foods\": []}".getBytes(StandardCharsets.UTF_8));
+            JsonReader reader = new JsonReader(file);
+            reader.read();
+            assertEquals(7, reader.getLastSequence());
+        } finally {
+            Files.deleteIfExists(Paths.get(file));
+        }
+    }
+
+    @Test
+    void testReaderParallelMatchesSequential() throws IOException {
+        String file = "./data/testReaderParallelCalendar.json";
+        try {
+            Calendar c = new Calendar();
+            for (int i = 0; i < 20000; i++) {
+                c.addFood(new Food("food {\"" + i + "\\", i % 2 == 0 ? "2050/08/02" : "2020/08/02", "2019/08/01"));
+            }
+            JsonWriter writer = new JsonWriter(file, false);
+            writer.open();
+            writer.write(c, 12);
+            writer.close();
+
+            List<Food> sequential = new JsonReader(file).read().getFoodList();
+            JsonReader reader = new JsonReader(file, null, true);
+            List<Food> parallel = reader.read().getFoodList();
+            assertEquals(12, reader.getLastSequence());
+            assertEquals(20000, parallel.size());
+            for (int i = 0; i < 20000; i++) {
+                Food f = sequential.get(i);
+                checkFood(f.getName(), f.getExpiryDate().format(Food.DATE_FORMAT),
+                        f.getDatePurchased().format(Food.DATE_FORMAT), f.isExpired(), parallel.get(i));
+            }
+        } finally {
+            Files.deleteIfExists(Paths.get(file));
+        }
+    }
+
+    @Test
+    void testReaderParallelSmallCalendar() {
+        try {
+            List<Food> foods = new JsonReader("./data/testReaderGeneralCalendar.json", null, true).read()
+                    .getFoodList();
+            assertEquals(2, foods.size());
+            checkFood("milk", "2023/07/01", "2023/06/25", true, foods.get(0));
+            checkFood("bread", "2050/08/02", "2050/08/01", false, foods.get(1));
+            assertEquals(0, new JsonReader("./data/testReaderEmptyCalendar.json", null, true).read()
+                    .getFoodList().size());
+            foods = new JsonReader("./data/testReaderStreamingCalendar.json", null, true).read().getFoodList();
+            assertEquals(3, foods.size());
+            checkFood("jam", "2060/12/31", "2059/12/31", false, foods.get(2));
+        } catch (IOException e) {
+            fail("Couldn't read from file");
+        }
+    }
+
+    @Test
+    void testReaderParallelMalformed() throws IOException {
+        String file = "./data/testReaderParallelBadCalendar.json";
+        String[] malformed = {"{\"foods\": [{\"name\": \"milk\"}]}", "{\"foods\": [1]}", "{\"foods\": [{}, ]",
+            "{\"other\": [}", "{\"foods\": [{\"name\": \"a}]}", "{\"other\": 1}", "{\"other\": , \"foods\": []}",
+            "{\"journal_sequence\": \"7\", \"foods\": []}"};
+        try {
+            for (String text : malformed) {
+                Files.write(Paths.get(file), text.getBytes(StandardCharsets.UTF_8));
+                assertThrows(JSONException.class, () -> new JsonReader(file, null, true).read(), text);
+            }
+        } finally {
+            Files.deleteIfExists(Paths.get(file));
+        }
+    }
+
+    @Test
+    void testReadFoodsInFileOrder() {
+        JsonReader reader = new JsonReader("./data/testReaderGeneralCalendar.json");
+        List<Food> foods = new ArrayList<>();
+        try {
+            reader.readFoods(foods::add);
+            assertEquals(2, foods.size());
+            checkFood("milk", "2023/07/01", "2023/06/25", true, foods.get(0));
+            checkFood("bread", "2050/08/02", "2050/08/01", false, foods.get(1));
+        } catch (IOException e) {
+            fail("Couldn't read from file");
+        }
+    }
+
+    @Test
+    void testReadFoodsNonExistentFile() {
+        JsonReader reader = new JsonReader("./data/noSuchFile.json");
+        assertThrows(IOException.class, () -> reader.readFoods(f -> fail("No foods expected")));
+    }
+}
@@ -1,10 +1,15 @@
 package persistence;
 
 import model.Calendar;
+import model.CalendarSnapshot;
 import model.Food;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -62,4 +67,155 @@ class JsonWriterTest extends JsonTest {
             fail("Exception should not have been thrown");
         }
     }
+
+    @Test
+    void testWriterSnapshot() {
+        try {
+            Calendar c = new Calendar();
+            c.addFood(new Food("milk", "2023/07/01", "2023/06/25"));
+            CalendarSnapshot snapshot = c.snapshot();
+            c.addFood(new Food("bread", "2050/08/02", "2050/08/01"));
+            JsonWriter writer = new JsonWriter("./data/testWriterSnapshotCalendar.json");
+            writer.open();
+            writer.write(snapshot);
+            writer.close();
+
+            List<Food> foods = new JsonReader("./data/testWriterSnapshotCalendar.json").read().getFoodList();
+            assertEquals(1, foods.size());
+            checkFood("milk", "2023/07/01", "2023/06/25", true, foods.get(0));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testWriterMatchesCalendarJson() {
+        try {
+            Calendar c = new Calendar();
+            c.addFood(new Food("milk", "2023/07/01", "2023/06/25"));
+            c.addFood(new Food("bread", "2050/08/02", "2050/08/01"));
+            JsonWriter writer = new JsonWriter("./data/testWriterGeneralCalendar.json");
+            writer.open();
+            writer.write(c);
+            writer.close();
+
+            String written = new String(Files.readAllBytes(Paths.get("./data/testWriterGeneralCalendar.json")),
+                    StandardCharsets.UTF_8);
+            assertEquals(c.toJson().toString(4), written);
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testWriterCompactCalendar() {
+        try {
+            Calendar c = new Calendar();
+            c.addFood(new Food("milk", "2023/07/01", "2023/06/25"));
+            c.addFood(new Food("bread", "2050/08/02", "2050/08/01"));
+            JsonWriter writer = new JsonWriter("./data/testWriterCompactCalendar.json", false);
+            writer.open();
+            writer.write(c);
+            writer.close();
+
+            String written = new String(Files.readAllBytes(Paths.get("./data/testWriterCompactCalendar.json")),
+                    StandardCharsets.UTF_8);
+            assertEquals(c.toJson().toString(), written);
+
+            JsonReader reader = new JsonReader("./data/testWriterCompactCalendar.json");
+            List<Food> foods = reader.read().getFoodList();
+            assertEquals(2, foods.size());
+            checkFood("milk", "2023/07/01", "2023/06/25", true, foods.get(0));
+            checkFood("bread", "2050/08/02", "2050/08/01", false, foods.get(1));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testWriterDurableCalendar() {
+        try {
+            Calendar c = new Calendar();
+            c.addFood(new Food("milk", "2023/07/01", "2023/06/25"));
+            JsonWriter writer = new JsonWriter("./data/testWriterDurableCalendar.json", true, true);
+            writer.open();
+            writer.write(c);
+            writer.close();
+            assertTrue(writer.getLastSaveNanos() > 0);
+
+            c.addFood(new Food("bread", "2050/08/02", "2050/08/01"));
+            writer.open();
+            writer.write(c);
+            writer.close();
+            assertFalse(Files.exists(Paths.get("./data/testWriterDurableCalendar.json.tmp")));
+
+            JsonReader reader = new JsonReader("./data/testWriterDurableCalendar.json");
+            List<Food> foods = reader.read().getFoodList();
+            assertEquals(2, foods.size());
+            checkFood("milk", "2023/07/01", "2023/06/25", true, foods.get(0));
+            checkFood("bread", "2050/08/02", "2050/08/01", false, foods.get(1));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testWriterDurableKeepsFileUntilClosed() {
+        try {
+            Calendar c = new Calendar();
+            c.addFood(new Food("milk", "2023/07/01", "2023/06/25"));
+            JsonWriter writer = new JsonWriter("./data/testWriterDurableCalendar.json", true, true);
+            writer.open();
+            writer.write(c);
+            writer.close();
+
+            writer.open();
+            writer.write(new Calendar());
+            JsonReader reader = new JsonReader("./data/testWriterDurableCalendar.json");
+            assertEquals(1, reader.read().getFoodList().size());
+            writer.close();
+            assertEquals(0, reader.read().getFoodList().size());
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testWriterDurableDiscard() {
+        try {
+            Calendar c = new Calendar();
+            c.addFood(new Food("milk", "2023/07/01", "2023/06/25"));
+            JsonWriter writer = new JsonWriter("./data/testWriterDiscardCalendar.json", true, true);
+            writer.open();
+            writer.write(c);
+            writer.close();
+
+            writer.open();
+            writer.write(new Calendar());
+            writer.discard();
+            assertFalse(Files.exists(Paths.get("./data/testWriterDiscardCalendar.json.tmp")));
+            assertEquals(1, new JsonReader("./data/testWriterDiscardCalendar.json").read().getFoodList().size());
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testWriterDurableCloseFails() throws IOException {
+        Path destination = Paths.get("./data/testWriterCloseFailsCalendar.json");
+        Path blocker = destination.resolve("blocker");
+        Files.createDirectories(destination);
+        Files.write(blocker, new byte[0]);
+        try {
+            JsonWriter writer = new JsonWriter(destination.toString(), true, true);
+            writer.open();
+            writer.write(new Calendar());
+            assertThrows(IOException.class, writer::close);
+            assertFalse(Files.exists(Paths.get(destination + ".tmp")));
+            assertTrue(Files.isDirectory(destination));
+        } finally {
+            Files.deleteIfExists(blocker);
+            Files.deleteIfExists(destination);
+        }
+    }
 }
@@ -0,0 +1,79 @@
+package persistence;
+
+import model.Calendar;
+import model.Food;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedSnapshotReaderTest extends JsonTest {
+
+    @Test
+    void testReaderNonExistentFile() {
+        MappedSnapshotReader reader = new MappedSnapshotReader("./data/noSuchFile.dat");
+        try {
+            reader.open();
+            fail("IOException expected");
+        } catch (IOException e) {
+            // pass
+        }
+    }
+
+    @Test
+    void testReaderNotSnapshot() {
+        MappedSnapshotReader reader = new MappedSnapshotReader("./data/testReaderGeneralCalendar.json");
+        try {
+            reader.open();
+            fail("IOException expected");
+        } catch (IOException e) {
+            // pass
+        }
+    }
+
+    @Test
+    void testReaderEmptyCalendar() {
+        try {
+            BinaryWriter writer = new BinaryWriter("./data/testWriterEmptyCalendar.dat");
+            writer.open();
+            writer.write(new Calendar());
+            writer.close();
+
+            MappedSnapshotReader reader = new MappedSnapshotReader("./data/testWriterEmptyCalendar.dat");
+            reader.open();
+            assertEquals(0, reader.size());
+            assertTrue(reader.foods().isEmpty());
+            assertTrue(reader.read().getFoodList().isEmpty());
+        } catch (IOException e) {
+            fail("Couldn't read from file");
+        }
+    }
+
+    @Test
+    void testReaderGeneralCalendar() {
+        try {
+            Calendar c = new Calendar();
+            c.addFood(new Food("milk", "2023/07/01", "2023/06/25"));
+            c.addFood(new Food("bread", "2050/08/02", "2050/08/01"));
+            c.addFood(new Food("milk", "2050/07/01", "2050/06/25"));
+            BinaryWriter writer = new BinaryWriter("./data/testWriterGeneralCalendar.dat");
+            writer.open();
+            writer.write(c);
+            writer.close();
+
+            MappedSnapshotReader reader = new MappedSnapshotReader("./data/testWriterGeneralCalendar.dat");
+            reader.open();
+            assertEquals(3, reader.size());
+            checkFood("milk", "2050/07/01", "2050/06/25", false, reader.getFood(2));
+            List<Food> foods = reader.foods();
+            checkFood("milk", "2023/07/01", "2023/06/25", true, foods.get(0));
+            checkFood("bread", "2050/08/02", "2050/08/01", false, foods.get(1));
+            assertThrows(IndexOutOfBoundsException.class, () -> foods.get(3));
+            assertEquals(3, reader.read().getFoodList().size());
+        } catch (IOException e) {
+            fail("Couldn't read from file");
+        }
+    }
+}